@@ -0,0 +1,54 @@
+package com.td.dms.search;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * 분석기 처리량 측정 (./gradlew benchmark로 실행).
+ * 본문 하나를 분석하는 평균 시간을 분석기와 본문 종류별로 측정합니다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(2)
+public class AnalyzerBenchmark {
+    private static final Map<String, String> SAMPLES = Map.of(
+            "korean", "문서관리시스템에서 회의록과 보고서를 폴더별로 정리하고 첨부파일의 본문까지 검색할 수 있습니다. ".repeat(20),
+            "english", "The document management system indexes titles, contents and attachments for ranked search. ".repeat(20),
+            "mixed", "2024년 3분기 Sales Report(v2).pdf 검토 결과를 PM에게 공유했습니다. ".repeat(20));
+
+    @Param({ "korean-ngram", "standard" })
+    private String analyzerName;
+
+    @Param({ "korean", "english", "mixed" })
+    private String sample;
+
+    private Analyzer analyzer;
+    private String text;
+
+    @Setup
+    public void setUp() {
+        analyzer = "standard".equals(analyzerName) ? new StandardAnalyzer() : new KoreanNgramAnalyzer(2, 3, true);
+        text = SAMPLES.get(sample);
+    }
+
+    @Benchmark
+    public void analyze(Blackhole blackhole) {
+        analyzer.analyze(text, blackhole::consume);
+    }
+}
@@ -2,6 +2,7 @@ package com.td.dms.controller;
 
 import com.td.dms.dto.CommentRequest;
 import com.td.dms.dto.CommentResponse;
+import com.td.dms.dto.CursorPage;
 import com.td.dms.service.CommentService;
 import com.td.dms.util.JwtUtil;
 import lombok.RequiredArgsConstructor;
@@ -17,12 +18,22 @@ public class CommentController {
     private final CommentService commentService;
     private final JwtUtil jwtUtil;
 
-    // 특정 게시글의 댓글 목록 조회
+    // 특정 게시글의 댓글 목록 조회 (작성 순 최대 100개, 그 이후는 /scroll로 조회)
     @GetMapping("/{postId}")
     public ResponseEntity<List<CommentResponse>> getCommentsByPost(@PathVariable Long postId) {
         return ResponseEntity.ok(commentService.getCommentsByPost(postId));
     }
 
+    // 특정 게시글의 댓글 목록 커서 기반 조회 (작성 순, 첫 페이지는 cursor 없이 요청)
+    @GetMapping("/{postId}/scroll")
+    public ResponseEntity<CursorPage<CommentResponse>> scrollCommentsByPost(
+            @PathVariable Long postId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam(defaultValue = "false") boolean withTotal) {
+        return ResponseEntity.ok(commentService.getCommentsByCursor(postId, cursor, size, withTotal));
+    }
+
     // 댓글 작성
     @PostMapping
     public ResponseEntity<CommentResponse> createComment(
@@ -1,8 +1,10 @@
 package com.td.dms.controller;
 
 import java.util.List;
-import java.util.stream.Collectors;
 
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -11,16 +13,21 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RequestPart;
 import org.springframework.web.bind.annotation.RestController;
 import com.td.dms.service.DocumentService;
 
 import com.td.dms.entity.Document;
+import com.td.dms.dto.CursorPage;
 import com.td.dms.dto.DocumentRequest;
 import lombok.RequiredArgsConstructor;
 import com.td.dms.util.JwtUtil;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import com.td.dms.dto.DocumentResponse;
+import com.td.dms.dto.DocumentSearchResponse;
+import com.td.dms.dto.DocumentSummaryResponse;
 
 @RestController
 @RequestMapping("/api/documents")
@@ -52,38 +59,68 @@ public class DocumentController {
         return ResponseEntity.ok(response);
     }
 
+    // 최신 순 최대 100개 (그 이후는 /scroll로 조회)
     @GetMapping("/folder/{folderId}")
-    public ResponseEntity<List<DocumentResponse>> getDocumentsByFolder(
+    public ResponseEntity<List<DocumentSummaryResponse>> getDocumentsByFolder(
             @PathVariable Long folderId,
             @RequestHeader("Authorization") String token) {
         String username = jwtUtil.getUsernameFromToken(token.replace("Bearer ", ""));
-        List<Document> documents = documentService.getDocumentsByFolder(folderId, username);
-        List<DocumentResponse> response = documents.stream()
-                .map(DocumentResponse::new)
-                .collect(Collectors.toList());
-        return ResponseEntity.ok(response);
+        return ResponseEntity.ok(documentService.getDocumentsByFolder(folderId, username));
     }
 
     @GetMapping("/starred")
-    public ResponseEntity<List<DocumentResponse>> getStarredDocuments(
+    public ResponseEntity<List<DocumentSummaryResponse>> getStarredDocuments(
             @RequestHeader("Authorization") String token) {
         String username = jwtUtil.getUsernameFromToken(token.replace("Bearer ", ""));
-        List<Document> documents = documentService.getStarredDocuments(username);
-        List<DocumentResponse> response = documents.stream()
-                .map(DocumentResponse::new)
-                .collect(Collectors.toList());
-        return ResponseEntity.ok(response);
+        return ResponseEntity.ok(documentService.getStarredDocuments(username));
     }
 
     @GetMapping("/recent")
-    public ResponseEntity<List<DocumentResponse>> getRecentDocuments(
+    public ResponseEntity<List<DocumentSummaryResponse>> getRecentDocuments(
             @RequestHeader("Authorization") String token) {
         String username = jwtUtil.getUsernameFromToken(token.replace("Bearer ", ""));
-        List<Document> documents = documentService.getRecentDocuments(username);
-        List<DocumentResponse> response = documents.stream()
-                .map(DocumentResponse::new)
-                .collect(Collectors.toList());
-        return ResponseEntity.ok(response);
+        return ResponseEntity.ok(documentService.getRecentDocuments(username));
+    }
+
+    // 커서 기반 목록 (무한 스크롤용). 첫 페이지는 cursor 없이 요청
+    @GetMapping("/folder/{folderId}/scroll")
+    public ResponseEntity<CursorPage<DocumentSummaryResponse>> scrollDocumentsByFolder(
+            @PathVariable Long folderId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam(defaultValue = "false") boolean withTotal,
+            @RequestHeader("Authorization") String token) {
+        String username = jwtUtil.getUsernameFromToken(token.replace("Bearer ", ""));
+        return ResponseEntity.ok(documentService.getDocumentsByFolder(folderId, username, cursor, size, withTotal));
+    }
+
+    @GetMapping("/starred/scroll")
+    public ResponseEntity<CursorPage<DocumentSummaryResponse>> scrollStarredDocuments(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam(defaultValue = "false") boolean withTotal,
+            @RequestHeader("Authorization") String token) {
+        String username = jwtUtil.getUsernameFromToken(token.replace("Bearer ", ""));
+        return ResponseEntity.ok(documentService.getStarredDocuments(username, cursor, size, withTotal));
+    }
+
+    @GetMapping("/recent/scroll")
+    public ResponseEntity<CursorPage<DocumentSummaryResponse>> scrollRecentDocuments(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam(defaultValue = "false") boolean withTotal,
+            @RequestHeader("Authorization") String token) {
+        String username = jwtUtil.getUsernameFromToken(token.replace("Bearer ", ""));
+        return ResponseEntity.ok(documentService.getRecentDocuments(username, cursor, size, withTotal));
+    }
+
+    @GetMapping("/search")
+    public ResponseEntity<Page<DocumentSearchResponse>> searchDocuments(
+            @RequestParam String keyword,
+            Pageable pageable,
+            @RequestHeader("Authorization") String token) {
+        String username = jwtUtil.getUsernameFromToken(token.replace("Bearer ", ""));
+        return ResponseEntity.ok(documentService.searchDocuments(keyword, username, pageable));
     }
 
     @GetMapping("/{id}")
@@ -99,12 +136,21 @@ public class DocumentController {
         return ResponseEntity.noContent().build();
     }
 
-    @GetMapping
-    public ResponseEntity<List<DocumentResponse>> getAllDocuments() {
-        List<Document> documents = documentService.getAllDocuments();
-        List<DocumentResponse> response = documents.stream()
-                .map(DocumentResponse::new)
-                .collect(Collectors.toList());
-        return ResponseEntity.ok(response);
+    // 전체 문서 목록은 조회하면서 바로 응답에 씀 (목록 전체를 메모리에 올리지 않음)
+    @GetMapping(produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> getAllDocuments() {
+        StreamingResponseBody body = outputStream -> documentService.writeAllDocuments(outputStream, false);
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(body);
+    }
+
+    // Accept: application/x-ndjson이면 한 줄에 문서 하나씩
+    @GetMapping(produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> getAllDocumentsAsNdjson() {
+        StreamingResponseBody body = outputStream -> documentService.writeAllDocuments(outputStream, true);
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(body);
     }
 }
@@ -1,22 +1,48 @@
 package com.td.dms.controller;
 
+import com.td.dms.dto.FileUploadResponse;
 import com.td.dms.entity.FileEntity;
 import com.td.dms.service.FileService;
+import com.td.dms.service.ZipExportService;
+import com.td.dms.util.JwtUtil;
+import com.td.dms.util.RangeResponseUtil;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.http.MediaType;
-import org.springframework.http.HttpHeaders;
-import org.springframework.core.io.Resource;
-import org.springframework.core.io.FileSystemResource;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import java.io.IOException;
+import java.io.InputStream;
 import java.nio.file.Path;
-import java.nio.file.Paths;
+import java.util.List;
+import java.util.Optional;
 
 @RestController
 @RequestMapping("/api/files")
 @RequiredArgsConstructor
 public class FileController {
     private final FileService fileService;
+    private final ZipExportService zipExportService;
+    private final JwtUtil jwtUtil;
+
+    // multipart 없이 요청 본문을 바로 저장하는 업로드
+    @PostMapping(value = "/stream", consumes = MediaType.APPLICATION_OCTET_STREAM_VALUE)
+    public ResponseEntity<FileUploadResponse> uploadStream(
+            @RequestParam String fileName,
+            @RequestParam(required = false) Long documentId,
+            @RequestParam(required = false) Long postId,
+            @RequestHeader("Authorization") String token,
+            HttpServletRequest request) throws IOException {
+        String username = jwtUtil.getUsernameFromToken(token.replace("Bearer ", ""));
+        try (InputStream inputStream = request.getInputStream()) {
+            return ResponseEntity.ok(fileService.uploadStream(
+                    inputStream, request.getContentLengthLong(), fileName, username, documentId, postId));
+        }
+    }
 
     @DeleteMapping("/{fileId}")
     public ResponseEntity<Void> deleteFile(@PathVariable Long fileId) {
@@ -25,15 +51,53 @@ public class FileController {
     }
 
     @GetMapping("/download/{fileId}")
-    public ResponseEntity<Resource> downloadFile(@PathVariable Long fileId) {
+    public void downloadFile(@PathVariable Long fileId, HttpServletRequest request, HttpServletResponse response)
+            throws IOException {
         FileEntity fileEntity = fileService.getFile(fileId);
-        Path filePath = Paths.get(fileEntity.getFilePath());
-        Resource resource = new FileSystemResource(filePath.toFile());
+        String eTag = fileEntity.getChecksum() != null
+                ? "\"" + fileEntity.getChecksum() + "\""
+                : "\"" + fileEntity.getId() + "-" + fileEntity.getFileSize() + "\"";
+
+        if (!fileService.exists(fileEntity)) {
+            throw new RuntimeException("파일을 찾을 수 없습니다.");
+        }
+
+        if (fileEntity.isCompressed()) {
+            response.setHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+            // gzip을 받는 클라이언트에는 저장된 압축본을 그대로 전송 (구간 요청은 원본 기준으로 처리)
+            if (request.getHeader(HttpHeaders.RANGE) == null && RangeResponseUtil.acceptsEncoding(request, "gzip")) {
+                RangeResponseUtil.writeEncoded(request, response,
+                        fileService.resolveStoredPath(fileEntity).orElse(null),
+                        () -> fileService.openStoredStream(fileEntity), fileService.getStoredSize(fileEntity),
+                        "gzip", fileEntity.getFileType(), fileEntity.getOriginalFileName(),
+                        "\"" + fileEntity.getChecksum() + "-gzip\"");
+                return;
+            }
+        } else {
+            Optional<Path> filePath = fileService.resolveLocalPath(fileEntity);
+            if (filePath.isPresent()) {
+                RangeResponseUtil.writeFile(request, response, filePath.get(),
+                        fileEntity.getFileType(), fileEntity.getOriginalFileName(), eTag);
+                return;
+            }
+        }
+
+        // 압축을 풀거나 로컬 경로가 없는 저장소에서 읽으며 스트리밍
+        RangeResponseUtil.writeStream(request, response, () -> fileService.openStream(fileEntity),
+                fileEntity.getFileSize(), fileEntity.getFileType(), fileEntity.getOriginalFileName(), eTag);
+    }
 
+    // 여러 파일(검색 결과 등)을 ZIP 하나로 스트리밍
+    @GetMapping("/export.zip")
+    public ResponseEntity<StreamingResponseBody> exportFiles(@RequestParam List<Long> ids,
+            @RequestHeader("Authorization") String token) {
+        String username = jwtUtil.getUsernameFromToken(token.replace("Bearer ", ""));
+        zipExportService.validateFileIds(ids);
+        StreamingResponseBody body = outputStream -> zipExportService.writeFiles(ids, username, outputStream);
         return ResponseEntity.ok()
-                .contentType(MediaType.parseMediaType(fileEntity.getFileType()))
+                .contentType(MediaType.parseMediaType("application/zip"))
                 .header(HttpHeaders.CONTENT_DISPOSITION,
-                        "attachment; filename=\"" + fileEntity.getOriginalFileName() + "\"")
-                .body(resource);
+                        ContentDisposition.attachment().filename("files.zip").build().toString())
+                .body(body);
     }
-}
\ No newline at end of file
+}
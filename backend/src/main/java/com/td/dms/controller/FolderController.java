@@ -2,11 +2,17 @@ package com.td.dms.controller;
 
 import com.td.dms.dto.FolderResponse;
 import com.td.dms.service.FolderService;
+import com.td.dms.service.ZipExportService;
 import com.td.dms.util.JwtUtil;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.nio.charset.StandardCharsets;
 import java.util.List;
 import java.util.Map;
 
@@ -15,6 +21,7 @@ import java.util.Map;
 @RequiredArgsConstructor
 public class FolderController {
     private final FolderService folderService;
+    private final ZipExportService zipExportService;
     private final JwtUtil jwtUtil;
 
     @PostMapping
@@ -22,7 +29,8 @@ public class FolderController {
             @RequestBody Map<String, String> request,
             @RequestHeader("Authorization") String token) {
         String username = jwtUtil.getUsernameFromToken(token.replace("Bearer ", ""));
-        FolderResponse folder = folderService.createFolder(request.get("name"), username);
+        FolderResponse folder = folderService.createFolder(request.get("name"), parseId(request.get("parentId")),
+                username);
         return ResponseEntity.ok(folder);
     }
 
@@ -44,12 +52,77 @@ public class FolderController {
         return ResponseEntity.ok(folder);
     }
 
+    // 다른 폴더 아래로 이동 (parentId가 없으면 최상위로)
+    @PutMapping("/{id}/move")
+    public ResponseEntity<FolderResponse> moveFolder(
+            @PathVariable Long id,
+            @RequestBody Map<String, String> request,
+            @RequestHeader("Authorization") String token) {
+        String username = jwtUtil.getUsernameFromToken(token.replace("Bearer ", ""));
+        return ResponseEntity.ok(folderService.moveFolder(id, parseId(request.get("parentId")), username));
+    }
+
+    // 폴더와 모든 하위 폴더
+    @GetMapping("/{id}/subtree")
+    public ResponseEntity<List<FolderResponse>> getSubtree(
+            @PathVariable Long id,
+            @RequestHeader("Authorization") String token) {
+        String username = jwtUtil.getUsernameFromToken(token.replace("Bearer ", ""));
+        return ResponseEntity.ok(folderService.getSubtree(id, username));
+    }
+
+    // 최상위 폴더부터 이 폴더까지의 경로 (breadcrumb)
+    @GetMapping("/{id}/path")
+    public ResponseEntity<List<FolderResponse>> getPath(
+            @PathVariable Long id,
+            @RequestHeader("Authorization") String token) {
+        String username = jwtUtil.getUsernameFromToken(token.replace("Bearer ", ""));
+        return ResponseEntity.ok(folderService.getPath(id, username));
+    }
+
+    @GetMapping("/{id}/document-count")
+    public ResponseEntity<Long> getDocumentCount(
+            @PathVariable Long id,
+            @RequestParam(defaultValue = "false") boolean recursive,
+            @RequestHeader("Authorization") String token) {
+        String username = jwtUtil.getUsernameFromToken(token.replace("Bearer ", ""));
+        return ResponseEntity.ok(folderService.getDocumentCount(id, recursive, username));
+    }
+
+    // recursive=true면 하위 폴더와 문서까지 함께 삭제 (기본은 비어 있는 폴더만)
     @DeleteMapping("/{id}")
     public ResponseEntity<Void> deleteFolder(
             @PathVariable Long id,
+            @RequestParam(defaultValue = "false") boolean recursive,
             @RequestHeader("Authorization") String token) {
         String username = jwtUtil.getUsernameFromToken(token.replace("Bearer ", ""));
-        folderService.deleteFolder(id, username);
+        folderService.deleteFolder(id, recursive, username);
         return ResponseEntity.noContent().build();
     }
-}
\ No newline at end of file
+
+    // 폴더 안 모든 문서의 첨부파일을 ZIP으로 스트리밍
+    @GetMapping("/{id}/export.zip")
+    public ResponseEntity<StreamingResponseBody> exportFolder(
+            @PathVariable Long id,
+            @RequestHeader("Authorization") String token) {
+        String username = jwtUtil.getUsernameFromToken(token.replace("Bearer ", ""));
+        String folderName = zipExportService.getExportFolderName(id, username);
+        StreamingResponseBody body = outputStream -> zipExportService.writeFolder(id, outputStream);
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType("application/zip"))
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                        .filename(folderName + ".zip", StandardCharsets.UTF_8).build().toString())
+                .body(body);
+    }
+
+    private static Long parseId(String value) {
+        if (value == null || value.isBlank()) {
+            return null;
+        }
+        try {
+            return Long.valueOf(value);
+        } catch (NumberFormatException e) {
+            throw new RuntimeException("잘못된 폴더 id입니다: " + value);
+        }
+    }
+}
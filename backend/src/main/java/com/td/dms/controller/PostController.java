@@ -1,5 +1,6 @@
 package com.td.dms.controller;
 
+import com.td.dms.dto.CursorPage;
 import com.td.dms.dto.PostRequest;
 import com.td.dms.dto.PostResponse;
 import com.td.dms.service.PostService;
@@ -26,6 +27,15 @@ public class PostController {
         return ResponseEntity.ok(postService.getAllPosts(pageable));
     }
 
+    // 커서 기반 목록 (무한 스크롤용). 첫 페이지는 cursor 없이 요청
+    @GetMapping("/scroll")
+    public ResponseEntity<CursorPage<PostResponse>> scrollPosts(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam(defaultValue = "false") boolean withTotal) {
+        return ResponseEntity.ok(postService.getPostsByCursor(cursor, size, withTotal));
+    }
+
     @GetMapping("/{id}")
     public ResponseEntity<PostResponse> getPost(@PathVariable Long id) {
         return ResponseEntity.ok(postService.getPost(id));
@@ -80,4 +90,14 @@ public class PostController {
         }
         return ResponseEntity.ok(posts);
     }
+
+    @GetMapping("/search/scroll")
+    public ResponseEntity<CursorPage<PostResponse>> scrollSearchPosts(
+            @RequestParam String keyword,
+            @RequestParam(defaultValue = "title") String searchType,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam(defaultValue = "false") boolean withTotal) {
+        return ResponseEntity.ok(postService.searchByCursor(keyword, searchType, cursor, size, withTotal));
+    }
 }
\ No newline at end of file
@@ -0,0 +1,28 @@
+package com.td.dms.controller;
+
+import com.td.dms.dto.SuggestionResponse;
+import com.td.dms.service.SuggestService;
+import com.td.dms.util.JwtUtil;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/suggest")
+@RequiredArgsConstructor
+public class SuggestController {
+    private final SuggestService suggestService;
+    private final JwtUtil jwtUtil;
+
+    // 검색창 자동완성 (폴더 이름, 문서 제목, 게시글 제목)
+    @GetMapping
+    public ResponseEntity<List<SuggestionResponse>> suggest(
+            @RequestParam String prefix,
+            @RequestParam(defaultValue = "10") int limit,
+            @RequestHeader("Authorization") String token) {
+        String username = jwtUtil.getUsernameFromToken(token.replace("Bearer ", ""));
+        return ResponseEntity.ok(suggestService.suggest(prefix, limit, username));
+    }
+}
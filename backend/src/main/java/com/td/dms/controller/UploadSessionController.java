@@ -0,0 +1,76 @@
+package com.td.dms.controller;
+
+import com.td.dms.dto.FileUploadResponse;
+import com.td.dms.dto.UploadCompleteRequest;
+import com.td.dms.dto.UploadSessionRequest;
+import com.td.dms.dto.UploadSessionResponse;
+import com.td.dms.service.UploadSessionService;
+import com.td.dms.util.JwtUtil;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+@RestController
+@RequestMapping("/api/uploads")
+@RequiredArgsConstructor
+public class UploadSessionController {
+    private final UploadSessionService uploadSessionService;
+    private final JwtUtil jwtUtil;
+
+    // 업로드 세션 생성
+    @PostMapping
+    public ResponseEntity<UploadSessionResponse> createSession(
+            @RequestBody @Valid UploadSessionRequest request,
+            @RequestHeader("Authorization") String token) throws IOException {
+        String username = jwtUtil.getUsernameFromToken(token.replace("Bearer ", ""));
+        return ResponseEntity.ok(uploadSessionService.createSession(request, username));
+    }
+
+    // 청크 업로드 (병렬 가능)
+    @PutMapping(value = "/{id}", consumes = MediaType.APPLICATION_OCTET_STREAM_VALUE)
+    public ResponseEntity<UploadSessionResponse> uploadChunk(
+            @PathVariable String id,
+            @RequestParam long offset,
+            @RequestHeader("Authorization") String token,
+            HttpServletRequest request) throws IOException {
+        String username = jwtUtil.getUsernameFromToken(token.replace("Bearer ", ""));
+        try (InputStream inputStream = request.getInputStream()) {
+            return ResponseEntity.ok(uploadSessionService.writeChunk(id, offset, inputStream, username));
+        }
+    }
+
+    // 업로드 진행 상태 조회
+    @GetMapping("/{id}")
+    public ResponseEntity<UploadSessionResponse> getSession(
+            @PathVariable String id,
+            @RequestHeader("Authorization") String token) {
+        String username = jwtUtil.getUsernameFromToken(token.replace("Bearer ", ""));
+        return ResponseEntity.ok(uploadSessionService.getSession(id, username));
+    }
+
+    // 업로드 완료 후 문서 또는 게시글에 첨부
+    @PostMapping("/{id}/complete")
+    public ResponseEntity<FileUploadResponse> completeSession(
+            @PathVariable String id,
+            @RequestBody UploadCompleteRequest request,
+            @RequestHeader("Authorization") String token) throws IOException {
+        String username = jwtUtil.getUsernameFromToken(token.replace("Bearer ", ""));
+        return ResponseEntity.ok(uploadSessionService.completeSession(id, request, username));
+    }
+
+    // 업로드 취소
+    @DeleteMapping("/{id}")
+    public ResponseEntity<Void> cancelSession(
+            @PathVariable String id,
+            @RequestHeader("Authorization") String token) {
+        String username = jwtUtil.getUsernameFromToken(token.replace("Bearer ", ""));
+        uploadSessionService.cancelSession(id, username);
+        return ResponseEntity.noContent().build();
+    }
+}
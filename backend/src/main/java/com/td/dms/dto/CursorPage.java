@@ -0,0 +1,12 @@
+package com.td.dms.dto;
+
+import java.util.List;
+
+/**
+ * 커서 기반 페이지 (무한 스크롤용)
+ *
+ * @param nextCursor 다음 페이지를 요청할 때 넘기는 값 (마지막 페이지면 null)
+ * @param total      전체 건수 (withTotal=true로 요청한 경우에만, 아니면 null)
+ */
+public record CursorPage<T>(List<T> items, String nextCursor, Long total) {
+}
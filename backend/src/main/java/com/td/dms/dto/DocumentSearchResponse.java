@@ -0,0 +1,19 @@
+package com.td.dms.dto;
+
+import lombok.Builder;
+import lombok.Getter;
+import java.time.LocalDateTime;
+
+@Getter
+@Builder
+public class DocumentSearchResponse {
+    private Long id;
+    private String title;
+    private String folderId;
+    private Boolean isStarred;
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+    private double score; // 관련도 점수 (색인 구축 중 DB 검색 결과는 0)
+    private String highlightedTitle; // 검색어를 <em>으로 감싼 제목 (일치하지 않으면 null)
+    private String snippet; // 내용 또는 첨부파일에서 검색어 주변을 잘라낸 미리보기
+}
@@ -0,0 +1,25 @@
+package com.td.dms.dto;
+
+import java.time.LocalDateTime;
+
+import com.td.dms.entity.Role;
+
+/**
+ * 문서 목록 화면용 요약 (엔티티와 첨부파일 컬렉션을 읽지 않고 필요한 컬럼만 조회)
+ * 전체 내용과 첨부파일 목록은 GET /api/documents/{id}에서 읽습니다.
+ *
+ * @param preview   내용 앞부분 (최대 100자)
+ * @param fileCount 첨부파일 수
+ */
+public record DocumentSummaryResponse(
+        Long id,
+        String title,
+        String preview,
+        Boolean isStarred,
+        LocalDateTime createdAt,
+        LocalDateTime updatedAt,
+        Long folderId,
+        String authorName,
+        Role authorRole,
+        Long fileCount) {
+}
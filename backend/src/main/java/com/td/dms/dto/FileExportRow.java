@@ -0,0 +1,20 @@
+package com.td.dms.dto;
+
+import com.td.dms.entity.StorageCompression;
+
+/**
+ * ZIP 내보내기에 필요한 파일 정보만 담은 조회 결과 (엔티티를 영속성 컨텍스트에 쌓지 않음)
+ *
+ * @param crc32         저장 시 계산한 CRC-32 (이전에 저장된 파일은 null)
+ * @param documentTitle 첨부된 문서 제목 (게시글 첨부파일은 null)
+ */
+public record FileExportRow(
+        Long id,
+        String originalFileName,
+        String filePath,
+        String storedFileName,
+        Long fileSize,
+        Long crc32,
+        StorageCompression compression,
+        String documentTitle) {
+}
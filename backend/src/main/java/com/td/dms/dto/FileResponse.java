@@ -1,6 +1,7 @@
 package com.td.dms.dto;
 
 import com.td.dms.entity.FileEntity;
+import com.td.dms.entity.TextExtractionStatus;
 import lombok.Builder;
 import lombok.Getter;
 
@@ -10,16 +11,19 @@ public class FileResponse {
     private Long id;
     private String originalFileName;
     private Long fileSize;
+    private TextExtractionStatus textStatus; // 본문 추출 상태 (null이면 추출 대상 아님)
 
-    public FileResponse(Long id, String originalFileName, Long fileSize) {
+    public FileResponse(Long id, String originalFileName, Long fileSize, TextExtractionStatus textStatus) {
         this.id = id;
         this.originalFileName = originalFileName;
         this.fileSize = fileSize;
+        this.textStatus = textStatus;
     }
 
     public FileResponse(FileEntity file) {
         this.id = file.getId();
         this.originalFileName = file.getOriginalFileName();
         this.fileSize = file.getFileSize();
+        this.textStatus = file.getTextStatus();
     }
 }
\ No newline at end of file
@@ -8,5 +8,6 @@ import lombok.Getter;
 public class FolderResponse {
     private Long id;
     private String name;
+    private Long parentId; // 상위 폴더 (최상위면 null)
     private int documentCount;
 }
\ No newline at end of file
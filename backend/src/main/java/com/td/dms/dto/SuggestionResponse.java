@@ -0,0 +1,12 @@
+package com.td.dms.dto;
+
+import lombok.Builder;
+import lombok.Getter;
+
+@Getter
+@Builder
+public class SuggestionResponse {
+    private String type; // folder, document, post
+    private Long id;
+    private String title;
+}
@@ -0,0 +1,12 @@
+package com.td.dms.dto;
+
+import lombok.Getter;
+import lombok.Setter;
+
+@Getter
+@Setter
+public class UploadCompleteRequest {
+    // 둘 중 하나만 지정
+    private Long documentId;
+    private Long postId;
+}
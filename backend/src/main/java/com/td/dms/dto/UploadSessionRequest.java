@@ -0,0 +1,21 @@
+package com.td.dms.dto;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import lombok.Getter;
+import lombok.Setter;
+
+@Getter
+@Setter
+public class UploadSessionRequest {
+    @NotBlank(message = "파일명은 필수 입력값입니다.")
+    private String fileName;
+
+    @NotNull(message = "파일 크기는 필수 입력값입니다.")
+    @Positive(message = "파일 크기는 0보다 커야 합니다.")
+    private Long fileSize;
+
+    // 청크 크기 (바이트, 선택)
+    private Integer chunkSize;
+}
@@ -0,0 +1,19 @@
+package com.td.dms.dto;
+
+import lombok.Builder;
+import lombok.Getter;
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Getter
+@Builder
+public class UploadSessionResponse {
+    private String id;
+    private String fileName;
+    private long fileSize;
+    private int chunkSize;
+    private int totalChunks;
+    private long committedOffset; // 처음부터 빈틈없이 기록된 바이트 수
+    private List<Integer> receivedChunks;
+    private LocalDateTime expiresAt;
+}
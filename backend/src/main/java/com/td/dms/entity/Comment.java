@@ -9,7 +9,7 @@ import com.fasterxml.jackson.annotation.JsonBackReference;
 @Entity
 @Getter
 @Setter
-@Table(name = "comments")
+@Table(name = "comments", indexes = @Index(columnList = "post_id, created_at, id"))
 public class Comment {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -5,10 +5,14 @@ import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
+import jakarta.persistence.NamedAttributeNode;
+import jakarta.persistence.NamedEntityGraph;
 import jakarta.persistence.PrePersist;
 import jakarta.persistence.PreUpdate;
+import jakarta.persistence.Table;
 import lombok.Getter;
 import lombok.Setter;
 import lombok.ToString;
@@ -26,6 +30,12 @@ import com.fasterxml.jackson.annotation.JsonBackReference;
 @Setter
 @Entity
 @ToString(exclude = { "folder" })
+@Table(indexes = @Index(columnList = "created_by, created_at, id"))
+// 조회 용도별 로딩 범위 (목록은 DocumentSummaryResponse 조회를 사용)
+// 상세/수정: 작성자와 첨부파일, 검색 결과: 첨부파일 (미리보기용)
+@NamedEntityGraph(name = "Document.detail", attributeNodes = {
+        @NamedAttributeNode("createdBy"), @NamedAttributeNode("files") })
+@NamedEntityGraph(name = "Document.searchResult", attributeNodes = @NamedAttributeNode("files"))
 public class Document {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -37,7 +47,7 @@ public class Document {
     @Column(nullable = false, length = 1000)
     private String content;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "created_by", nullable = false)
     private User createdBy;
 
@@ -82,14 +92,4 @@ public class Document {
         files.remove(file);
         file.setDocument(null);
     }
-
-    public void setFolder(Folder newFolder) {
-        if (this.folder != null && this.folder != newFolder) {
-            this.folder.getDocuments().remove(this);
-        }
-        this.folder = newFolder;
-        if (newFolder != null) {
-            newFolder.getDocuments().add(this);
-        }
-    }
 }
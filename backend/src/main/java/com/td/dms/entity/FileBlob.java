@@ -0,0 +1,42 @@
+package com.td.dms.entity;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.Setter;
+import java.time.LocalDateTime;
+
+// 내용(SHA-256) 기준으로 한 번만 저장되는 물리 파일. 여러 FileEntity가 같은 blob을 참조할 수 있음
+@Entity
+@Getter
+@Setter
+@Table(name = "file_blobs")
+public class FileBlob {
+    @Id
+    @Column(length = 64)
+    private String hash;
+
+    @Column(nullable = false)
+    private String filePath;
+
+    private Long fileSize;
+
+    // ZIP 내보내기용 CRC-32 (이전에 저장된 blob은 null)
+    private Long crc32;
+
+    // 저장소에 기록된 형식과 크기 (압축된 경우 fileSize보다 작음, 이전 blob은 null = 압축 안 함)
+    @Enumerated(EnumType.STRING)
+    @Column(length = 10)
+    private StorageCompression compression;
+
+    private Long storedSize;
+
+    @Column(nullable = false)
+    private long referenceCount;
+
+    private LocalDateTime createdAt;
+
+    @PrePersist
+    public void prePersist() {
+        this.createdAt = LocalDateTime.now();
+    }
+}
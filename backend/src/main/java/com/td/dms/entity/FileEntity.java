@@ -9,10 +9,12 @@ import com.fasterxml.jackson.annotation.JsonBackReference;
 @Entity
 @Getter
 @Setter
-@Table(name = "files")
+@Table(name = "files", indexes = @Index(columnList = "text_status"))
 public class FileEntity {
+    // IDENTITY는 JDBC 배치 insert가 불가능하므로 시퀀스로 id를 미리 할당
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "files_seq")
+    @SequenceGenerator(name = "files_seq", sequenceName = "files_seq", allocationSize = 50)
     private Long id;
 
     @Column(nullable = false)
@@ -26,9 +28,28 @@ public class FileEntity {
 
     private Long fileSize;
 
+    // 업로드 시 계산한 SHA-256 해시 (16진수)
+    @Column(length = 64)
+    private String checksum;
+
     @Column(nullable = false)
     private String filePath;
 
+    // 저장소에 압축되어 있는지 (null이면 압축 안 함). fileSize와 checksum은 항상 원본 기준
+    @Enumerated(EnumType.STRING)
+    @Column(length = 10)
+    private StorageCompression compression;
+
+    // 본문 추출 상태 (null이면 추출 대상이 아님, 이 기능 이전에 올라온 파일)
+    @Enumerated(EnumType.STRING)
+    @Column(name = "text_status", length = 20)
+    private TextExtractionStatus textStatus;
+
+    // 실제 파일 내용 (같은 내용의 첨부파일끼리 공유)
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "blob_hash")
+    private FileBlob blob;
+
     @JsonBackReference
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "document_id")
@@ -45,6 +66,10 @@ public class FileEntity {
 
     private LocalDateTime uploadedAt;
 
+    public boolean isCompressed() {
+        return compression == StorageCompression.GZIP;
+    }
+
     @PrePersist
     public void prePersist() {
         this.uploadedAt = LocalDateTime.now();
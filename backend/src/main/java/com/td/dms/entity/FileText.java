@@ -0,0 +1,38 @@
+package com.td.dms.entity;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import java.time.LocalDateTime;
+
+// 첨부파일에서 추출한 본문 텍스트와 추출 시도 기록 (files 행과 1:1, 본문이 커서 별도 테이블에 둠)
+@Entity
+@Getter
+@Setter
+@NoArgsConstructor
+@Table(name = "file_texts")
+public class FileText {
+    @Id
+    private Long fileId;
+
+    @Lob
+    private String content;
+
+    private int attempts;
+
+    @Column(length = 500)
+    private String lastError;
+
+    private LocalDateTime updatedAt;
+
+    public FileText(Long fileId) {
+        this.fileId = fileId;
+    }
+
+    @PrePersist
+    @PreUpdate
+    public void touch() {
+        this.updatedAt = LocalDateTime.now();
+    }
+}
@@ -0,0 +1,38 @@
+package com.td.dms.entity;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import java.time.LocalDateTime;
+
+// 삭제 예정인 저장소 파일. 삭제를 요청한 트랜잭션과 함께 커밋되며 실제 삭제는 백그라운드에서 수행
+@Entity
+@Getter
+@Setter
+@NoArgsConstructor
+@Table(name = "file_tombstones", indexes = @Index(columnList = "storage_key"))
+public class FileTombstone {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false)
+    private String storageKey;
+
+    private int attempts;
+
+    @Column(length = 500)
+    private String lastError;
+
+    private LocalDateTime createdAt;
+
+    public FileTombstone(String storageKey) {
+        this.storageKey = storageKey;
+    }
+
+    @PrePersist
+    public void prePersist() {
+        this.createdAt = LocalDateTime.now();
+    }
+}
@@ -6,11 +6,14 @@ import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.Column;
 import jakarta.persistence.ManyToOne;
+import jakarta.persistence.FetchType;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.OneToMany;
 import jakarta.persistence.CascadeType;
 import jakarta.persistence.PrePersist;
 import jakarta.persistence.PreUpdate;
+import jakarta.persistence.Table;
+import jakarta.persistence.Index;
 import lombok.Getter;
 import lombok.Setter;
 import java.time.LocalDateTime;
@@ -20,6 +23,7 @@ import java.util.List;
 @Entity
 @Getter
 @Setter
+@Table(indexes = @Index(columnList = "parent_id"))
 public class Folder {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -28,39 +32,29 @@ public class Folder {
     @Column(nullable = false)
     private String name;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "created_by")
     private User createdBy;
 
+    // 상위 폴더 (최상위 폴더면 null). 하위 트리/경로 조회는 FolderPath(클로저 테이블)를 사용
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "parent_id")
+    private Folder parent;
+
+    // 문서의 폴더를 바꿀 때 이 컬렉션은 갱신하지 않음 (불러오는 비용을 피하고, 문서 수는 documentCount 사용)
     @OneToMany(mappedBy = "folder", cascade = CascadeType.ALL, orphanRemoval = true)
     private List<Document> documents = new ArrayList<>();
 
+    // 폴더에 바로 속한 문서 수 (문서 생성/이동/삭제와 같은 트랜잭션에서 원자적으로 증감, FolderCountRepairer가 주기적으로 보정)
+    @Column(name = "document_count", nullable = false, updatable = false)
+    private int documentCount;
+
     @Column(nullable = false)
     private LocalDateTime createdAt;
 
     @Column(nullable = false)
     private LocalDateTime updatedAt;
 
-    // 문서 추가 메서드
-    public void addDocument(Document document) {
-        if (!this.documents.contains(document)) {
-            this.documents.add(document);
-            if (document.getFolder() != this) {
-                document.setFolder(this);
-            }
-        }
-    }
-
-    // 문서 제거 메서드
-    public void removeDocument(Document document) {
-        if (this.documents.contains(document)) {
-            this.documents.remove(document);
-            if (document.getFolder() == this) {
-                document.setFolder(null);
-            }
-        }
-    }
-
     @PrePersist
     protected void onCreate() {
         createdAt = LocalDateTime.now();
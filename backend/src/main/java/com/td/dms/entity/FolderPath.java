@@ -0,0 +1,30 @@
+package com.td.dms.entity;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+// 폴더 계층의 클로저 테이블. 조상-자손 쌍마다 한 행을 두어 (자기 자신은 depth 0)
+// 깊이와 관계없이 하위 트리/상위 경로를 인덱스 조회 한 번으로 읽음
+@Entity
+@Getter
+@Setter
+@NoArgsConstructor
+@Table(name = "folder_paths",
+        uniqueConstraints = @UniqueConstraint(columnNames = { "ancestor_id", "descendant_id" }),
+        indexes = @Index(columnList = "descendant_id, depth"))
+public class FolderPath {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "ancestor_id", nullable = false)
+    private Long ancestorId;
+
+    @Column(name = "descendant_id", nullable = false)
+    private Long descendantId;
+
+    @Column(nullable = false)
+    private int depth;
+}
@@ -11,7 +11,12 @@ import com.fasterxml.jackson.annotation.JsonManagedReference;
 @Entity
 @Getter
 @Setter
-@Table(name = "posts")
+// 수정/삭제: 작성자(권한 확인)와 첨부파일. 목록과 상세는 PostPageAssembler가 묶음 조회로 조립
+@NamedEntityGraph(name = "Post.edit", attributeNodes = {
+        @NamedAttributeNode("author"), @NamedAttributeNode("files") })
+@Table(name = "posts", indexes = {
+        @Index(columnList = "comment_count"),
+        @Index(columnList = "created_at, id") })
 public class Post {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -37,8 +42,14 @@ public class Post {
 
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
+    // 조회수와 댓글 수는 UPDATE 쿼리로만 바꿈 (게시글 수정 시 읽어 둔 값으로 덮어쓰지 않도록)
+    @Column(updatable = false)
     private int viewCount;
 
+    // 댓글 수 (댓글 작성/삭제와 같은 트랜잭션에서 원자적으로 증감, CommentCountRepairer가 주기적으로 보정)
+    @Column(name = "comment_count", nullable = false, updatable = false)
+    private int commentCount;
+
     @PrePersist
     protected void onCreate() {
         createdAt = LocalDateTime.now();
@@ -0,0 +1,6 @@
+package com.td.dms.entity;
+
+// 저장소에 기록된 파일의 압축 형식
+public enum StorageCompression {
+    NONE, GZIP
+}
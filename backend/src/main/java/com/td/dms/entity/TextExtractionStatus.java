@@ -0,0 +1,6 @@
+package com.td.dms.entity;
+
+// 첨부파일 본문 추출 상태 (PENDING인 파일이 곧 추출 대기열)
+public enum TextExtractionStatus {
+    PENDING, DONE, FAILED, UNSUPPORTED
+}
@@ -0,0 +1,23 @@
+package com.td.dms.entity;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.Setter;
+
+// 디스크에 기록이 끝난 청크 (세션별 청크 번호는 유일)
+@Entity
+@Getter
+@Setter
+@Table(name = "upload_chunks", uniqueConstraints = @UniqueConstraint(columnNames = { "session_id", "chunk_index" }))
+public class UploadChunk {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "session_id", nullable = false)
+    private UploadSession session;
+
+    @Column(name = "chunk_index", nullable = false)
+    private int chunkIndex;
+}
@@ -0,0 +1,43 @@
+package com.td.dms.entity;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.Setter;
+import java.time.LocalDateTime;
+
+// 대용량 첨부파일을 여러 청크로 나누어 올리는 업로드 세션
+@Entity
+@Getter
+@Setter
+@Table(name = "upload_sessions", indexes = @Index(columnList = "expires_at"))
+public class UploadSession {
+    @Id
+    @Column(length = 36)
+    private String id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "user_id", nullable = false)
+    private User user;
+
+    @Column(nullable = false)
+    private String originalFileName;
+
+    @Column(nullable = false)
+    private long fileSize;
+
+    @Column(nullable = false)
+    private int chunkSize;
+
+    @Column(nullable = false)
+    private int totalChunks;
+
+    private LocalDateTime createdAt;
+
+    @Column(name = "expires_at", nullable = false)
+    private LocalDateTime expiresAt;
+
+    @PrePersist
+    public void prePersist() {
+        this.createdAt = LocalDateTime.now();
+    }
+}
@@ -1,6 +1,9 @@
 
 package com.td.dms.entity;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.EnumType;
@@ -17,6 +20,8 @@ import lombok.Setter;
 
 @Entity
 @Table(name = "users")
+// 지연 로딩 프록시로 직렬화될 때 Hibernate 내부 필드 제외
+@JsonIgnoreProperties({ "hibernateLazyInitializer", "handler" })
 @Getter
 @Setter
 @NoArgsConstructor
@@ -29,6 +34,8 @@ public class User {
     @Column(nullable = false, unique = true)
     private String username;
 
+    // 문서 응답의 작성자 정보 등으로 직렬화될 때 비밀번호 해시가 노출되지 않도록 제외
+    @JsonIgnore
     @Column(nullable = false)
     private String password;
 
@@ -0,0 +1,104 @@
+package com.td.dms.extraction;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Set;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+
+import org.springframework.stereotype.Component;
+
+/**
+ * DOCX, XLSX 본문 추출.
+ * 두 형식 모두 XML을 묶은 ZIP이므로 압축을 풀면서 필요한 항목만 StAX로 읽고, 전체를 메모리에 올리지 않습니다.
+ * DOCX는 word/document.xml의 w:t, XLSX는 공유 문자열과 시트에 직접 들어간 문자열의 t 요소가 본문입니다.
+ */
+@Component
+public class OoxmlTextExtractor implements TextExtractor {
+    private static final String DOCX = "application/vnd.openxmlformats-officedocument.wordprocessingml.document";
+    private static final String XLSX = "application/vnd.openxmlformats-officedocument.spreadsheetml.sheet";
+
+    // 끝날 때 줄을 바꾸는 요소 (문단, 공유 문자열 항목, 행)
+    private static final Set<String> BLOCK_ELEMENTS = Set.of("p", "si", "row");
+
+    private final XMLInputFactory xmlInputFactory;
+
+    public OoxmlTextExtractor() {
+        xmlInputFactory = XMLInputFactory.newFactory();
+        // 외부 엔티티를 읽지 않도록 (XXE 방지)
+        xmlInputFactory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+        xmlInputFactory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+    }
+
+    @Override
+    public boolean supports(String contentType) {
+        return DOCX.equals(contentType) || XLSX.equals(contentType);
+    }
+
+    @Override
+    public String extract(InputStream inputStream, int maxLength) throws IOException {
+        StringBuilder text = new StringBuilder();
+        ZipInputStream zip = new ZipInputStream(inputStream);
+        ZipEntry entry;
+        while ((entry = zip.getNextEntry()) != null && text.length() < maxLength) {
+            if (isTextPart(entry.getName())) {
+                readText(zip, text, maxLength);
+            }
+        }
+        return text.length() > maxLength ? text.substring(0, maxLength) : text.toString();
+    }
+
+    private static boolean isTextPart(String name) {
+        return name.equals("word/document.xml")
+                || name.equals("xl/sharedStrings.xml")
+                || (name.startsWith("xl/worksheets/sheet") && name.endsWith(".xml"));
+    }
+
+    private void readText(InputStream part, StringBuilder text, int maxLength) throws IOException {
+        try {
+            XMLStreamReader reader = xmlInputFactory.createXMLStreamReader(new NonClosingInputStream(part));
+            try {
+                boolean inText = false;
+                while (reader.hasNext() && text.length() < maxLength) {
+                    switch (reader.next()) {
+                        case XMLStreamConstants.START_ELEMENT -> inText = "t".equals(reader.getLocalName());
+                        case XMLStreamConstants.CHARACTERS -> {
+                            if (inText) {
+                                text.append(reader.getText());
+                            }
+                        }
+                        case XMLStreamConstants.END_ELEMENT -> {
+                            inText = false;
+                            if (BLOCK_ELEMENTS.contains(reader.getLocalName())) {
+                                text.append('\n');
+                            }
+                        }
+                        default -> {
+                        }
+                    }
+                }
+            } finally {
+                reader.close();
+            }
+        } catch (XMLStreamException e) {
+            throw new IOException("문서 XML을 읽을 수 없습니다: " + e.getMessage(), e);
+        }
+    }
+
+    // XML 파서가 문서 끝에서 ZIP 스트림까지 닫지 않도록 (다음 항목을 계속 읽어야 함)
+    private static final class NonClosingInputStream extends FilterInputStream {
+        private NonClosingInputStream(InputStream in) {
+            super(in);
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package com.td.dms.extraction;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+
+import org.apache.pdfbox.Loader;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.text.PDFTextStripper;
+import org.springframework.stereotype.Component;
+
+/**
+ * PDF 본문 추출 (PDFBox).
+ * PDF는 끝의 상호 참조 표를 따라 임의 위치를 읽어야 하므로 파일에서 직접 열어 전체를 힙에 올리지 않고,
+ * 한 쪽씩 추출하다 최대 길이에 닿으면 나머지 쪽은 읽지 않습니다.
+ */
+@Component
+public class PdfTextExtractor implements TextExtractor {
+    @Override
+    public boolean supports(String contentType) {
+        return "application/pdf".equals(contentType);
+    }
+
+    // 압축 저장되었거나 원격 저장소에 있는 파일은 임시 파일로 옮겨 읽음
+    @Override
+    public String extract(InputStream inputStream, int maxLength) throws IOException {
+        Path temp = Files.createTempFile("dms-extract-", ".pdf");
+        try {
+            Files.copy(inputStream, temp, StandardCopyOption.REPLACE_EXISTING);
+            return extract(temp, maxLength);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    @Override
+    public String extract(Path file, int maxLength) throws IOException {
+        try (PDDocument document = Loader.loadPDF(file.toFile())) {
+            PDFTextStripper stripper = new PDFTextStripper();
+            StringBuilder text = new StringBuilder();
+            int pages = document.getNumberOfPages();
+            for (int page = 1; page <= pages && text.length() < maxLength; page++) {
+                stripper.setStartPage(page);
+                stripper.setEndPage(page);
+                text.append(stripper.getText(document));
+            }
+            return text.length() > maxLength ? text.substring(0, maxLength) : text.toString();
+        }
+    }
+}
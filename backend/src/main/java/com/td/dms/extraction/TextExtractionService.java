@@ -0,0 +1,188 @@
+package com.td.dms.extraction;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.unit.DataSize;
+
+import com.td.dms.entity.FileEntity;
+import com.td.dms.entity.FileText;
+import com.td.dms.entity.TextExtractionStatus;
+import com.td.dms.repository.FileRepository;
+import com.td.dms.repository.FileTextRepository;
+import com.td.dms.service.DocumentService;
+import com.td.dms.service.FileService;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 첨부파일 본문 추출.
+ * 업로드 트랜잭션에서 파일을 PENDING으로 기록해 두면(DB가 곧 대기열), 주기적으로 대기 중인 파일을 가져와
+ * 고정 크기 작업자 풀에서 추출합니다. 업로드는 추출을 기다리지 않고, 서버가 중단되어도 PENDING 상태가
+ * 남아 있으므로 재시작 후 그 지점부터 이어서 처리합니다.
+ * max-file-size보다 큰 파일은 추출하지 않고 UNSUPPORTED로 기록합니다.
+ */
+@Component
+@Slf4j
+public class TextExtractionService {
+    private static final int MAX_ATTEMPTS = 3;
+
+    private final FileRepository fileRepository;
+    private final FileTextRepository fileTextRepository;
+    private final FileService fileService;
+    private final DocumentService documentService;
+    private final List<TextExtractor> extractors;
+    private final TransactionTemplate transactionTemplate;
+
+    private final ThreadPoolExecutor executor;
+    private final int queueCapacity;
+    private final int maxTextLength;
+    private final long maxFileSize;
+    // 작업자 풀에 넘겼지만 아직 끝나지 않은 파일 (다음 조회에서 다시 넘기지 않도록)
+    private final Set<Long> inFlight = ConcurrentHashMap.newKeySet();
+
+    public TextExtractionService(FileRepository fileRepository, FileTextRepository fileTextRepository,
+            FileService fileService, DocumentService documentService, List<TextExtractor> extractors,
+            TransactionTemplate transactionTemplate,
+            @Value("${dms.extraction.workers:2}") int workers,
+            @Value("${dms.extraction.queue-capacity:100}") int queueCapacity,
+            @Value("${dms.extraction.max-text-length:1000000}") int maxTextLength,
+            @Value("${dms.extraction.max-file-size:50MB}") DataSize maxFileSize) {
+        this.fileRepository = fileRepository;
+        this.fileTextRepository = fileTextRepository;
+        this.fileService = fileService;
+        this.documentService = documentService;
+        this.extractors = extractors;
+        this.transactionTemplate = transactionTemplate;
+        this.queueCapacity = queueCapacity;
+        this.maxTextLength = maxTextLength;
+        this.maxFileSize = maxFileSize.toBytes();
+        this.executor = new ThreadPoolExecutor(workers, workers, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), Thread.ofPlatform().name("text-extraction-", 0).factory());
+    }
+
+    // 작업자 풀에 남은 자리만큼 대기 중인 파일을 가져와 넘김
+    @Scheduled(fixedDelayString = "${dms.extraction.poll-interval:5000}")
+    public void poll() {
+        int capacity = queueCapacity - inFlight.size();
+        if (capacity <= 0) {
+            return;
+        }
+        List<Long> pending = fileRepository.findIdsByTextStatus(TextExtractionStatus.PENDING,
+                PageRequest.ofSize(capacity + inFlight.size()));
+        for (Long fileId : pending) {
+            if (!inFlight.add(fileId)) {
+                continue;
+            }
+            try {
+                executor.execute(() -> process(fileId));
+            } catch (RejectedExecutionException e) {
+                // 대기열이 가득 찼으면 다음 주기에 다시 시도
+                inFlight.remove(fileId);
+                return;
+            }
+        }
+    }
+
+    private void process(Long fileId) {
+        try {
+            FileEntity file = fileRepository.findById(fileId).orElse(null);
+            if (file == null || file.getTextStatus() != TextExtractionStatus.PENDING) {
+                return;
+            }
+            TextExtractor extractor = extractors.stream()
+                    .filter(candidate -> candidate.supports(file.getFileType()))
+                    .findFirst()
+                    .orElse(null);
+            if (extractor == null || (file.getFileSize() != null && file.getFileSize() > maxFileSize)) {
+                complete(file, TextExtractionStatus.UNSUPPORTED, null);
+                return;
+            }
+
+            String text;
+            // 로컬 디스크에 원본 그대로 있으면 파일에서 바로 읽음
+            Optional<Path> localPath = fileService.resolveLocalPath(file);
+            if (localPath.isPresent()) {
+                text = extractor.extract(localPath.get(), maxTextLength);
+            } else {
+                try (InputStream inputStream = fileService.openStream(file)) {
+                    text = extractor.extract(inputStream, maxTextLength);
+                }
+            }
+            complete(file, TextExtractionStatus.DONE, text);
+        } catch (IOException | RuntimeException e) {
+            recordFailure(fileId, e);
+        } finally {
+            inFlight.remove(fileId);
+        }
+    }
+
+    // 본문 저장과 상태 변경을 한 트랜잭션으로 기록하고, 문서 첨부파일이면 검색 색인에 반영
+    private void complete(FileEntity file, TextExtractionStatus status, String text) {
+        transactionTemplate.executeWithoutResult(transaction -> {
+            // 그 사이 파일이 삭제되었으면 기록하지 않음
+            if (fileRepository.updateTextStatus(file.getId(), status) == 0) {
+                return;
+            }
+            if (text == null) {
+                return;
+            }
+            FileText fileText = fileTextRepository.findById(file.getId()).orElseGet(() -> new FileText(file.getId()));
+            fileText.setContent(text);
+            fileText.setLastError(null);
+            fileTextRepository.save(fileText);
+
+            if (file.getDocument() != null) {
+                documentService.reindexDocument(file.getDocument().getId());
+            }
+        });
+    }
+
+    private void recordFailure(Long fileId, Exception e) {
+        log.error("첨부파일 본문 추출 중 오류 발생: {} - {}", fileId, e.getMessage());
+        try {
+            transactionTemplate.executeWithoutResult(transaction -> {
+                if (!fileRepository.existsById(fileId)) {
+                    return;
+                }
+                FileText fileText = fileTextRepository.findById(fileId).orElseGet(() -> new FileText(fileId));
+                fileText.setAttempts(fileText.getAttempts() + 1);
+                fileText.setLastError(truncate(e.getMessage()));
+                fileTextRepository.save(fileText);
+                // 재시도 한도를 넘기면 대기열에서 제외
+                if (fileText.getAttempts() >= MAX_ATTEMPTS) {
+                    fileRepository.updateTextStatus(fileId, TextExtractionStatus.FAILED);
+                }
+            });
+        } catch (RuntimeException recordError) {
+            log.error("본문 추출 실패 기록 중 오류 발생: {} - {}", fileId, recordError.getMessage());
+        }
+    }
+
+    private static String truncate(String message) {
+        if (message == null) {
+            return null;
+        }
+        return message.length() > 500 ? message.substring(0, 500) : message;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+}
@@ -0,0 +1,23 @@
+package com.td.dms.extraction;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * 첨부파일 형식별 본문 추출기.
+ * 추출한 텍스트는 maxLength 글자까지만 반환합니다 (큰 파일이 메모리와 색인을 차지하지 않도록).
+ */
+public interface TextExtractor {
+    boolean supports(String contentType);
+
+    String extract(InputStream inputStream, int maxLength) throws IOException;
+
+    // 로컬 디스크에 원본 그대로 있는 파일. 임의 위치를 읽어야 하는 형식(PDF)은 재정의해 파일에서 직접 읽음
+    default String extract(Path file, int maxLength) throws IOException {
+        try (InputStream inputStream = Files.newInputStream(file)) {
+            return extract(inputStream, maxLength);
+        }
+    }
+}
@@ -1,8 +1,14 @@
 package com.td.dms.repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import com.td.dms.entity.Comment;
 import com.td.dms.entity.Post;
@@ -19,4 +25,26 @@ public interface CommentRepository extends JpaRepository<Comment, Long> {
     long countByPost(Post post);
 
     List<Comment> findByPostOrderByCreatedAtDesc(Post post);
-}
\ No newline at end of file
+
+    // 게시글의 최근 댓글 (개수는 pageable로 제한)
+    @EntityGraph(attributePaths = "author")
+    List<Comment> findByPostIdOrderByCreatedAtDescIdDesc(Long postId, Pageable pageable);
+
+    // 게시글마다 최근 댓글 limit개의 id
+    @Query(value = "SELECT id FROM (SELECT c.id, ROW_NUMBER() OVER "
+            + "(PARTITION BY c.post_id ORDER BY c.created_at DESC, c.id DESC) AS rn "
+            + "FROM comments c WHERE c.post_id IN (:postIds)) ranked WHERE rn <= :limit", nativeQuery = true)
+    List<Long> findRecentIdsByPostIdIn(@Param("postIds") Collection<Long> postIds, @Param("limit") int limit);
+
+    // 작성자를 함께 읽은 댓글 (최근 순)
+    @Query("SELECT c FROM Comment c JOIN FETCH c.author WHERE c.id IN :ids ORDER BY c.createdAt DESC, c.id DESC")
+    List<Comment> findWithAuthorByIdIn(@Param("ids") Collection<Long> ids);
+
+    // 커서 다음의 댓글 (작성 순, 크기는 pageable로 제한)
+    @EntityGraph(attributePaths = "author")
+    @Query("SELECT c FROM Comment c WHERE c.post.id = :postId "
+            + "AND (c.createdAt > :createdAt OR (c.createdAt = :createdAt AND c.id > :id)) "
+            + "ORDER BY c.createdAt, c.id")
+    List<Comment> findPageAfter(@Param("postId") Long postId, @Param("createdAt") LocalDateTime createdAt,
+            @Param("id") Long id, Pageable pageable);
+}
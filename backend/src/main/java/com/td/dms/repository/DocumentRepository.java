@@ -1,13 +1,35 @@
 package com.td.dms.repository;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 import java.time.LocalDateTime;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import com.td.dms.dto.DocumentSummaryResponse;
 import com.td.dms.entity.Document;
 import com.td.dms.entity.User;
 import com.td.dms.entity.Folder;
 
 public interface DocumentRepository extends JpaRepository<Document, Long> {
+    // 목록 화면용 요약 조회 (내용은 앞부분만, 첨부파일은 개수만 같은 쿼리에서 셈)
+    String SUMMARY_SELECT = "SELECT new com.td.dms.dto.DocumentSummaryResponse(d.id, d.title, "
+            + "SUBSTRING(d.content, 1, 100), d.isStarred, d.createdAt, d.updatedAt, f.id, u.username, u.role, "
+            + "(SELECT COUNT(a) FROM FileEntity a WHERE a.document = d)) "
+            + "FROM Document d JOIN d.createdBy u LEFT JOIN d.folder f ";
+
+    // 상세/수정용 (작성자와 첨부파일을 함께 조회)
+    @EntityGraph("Document.detail")
+    Optional<Document> findDetailById(Long id);
+
+    // 검색 결과용 (첨부파일을 함께 조회)
+    @EntityGraph("Document.searchResult")
+    List<Document> findSearchResultByIdIn(Collection<Long> ids);
+
     // 사용자별 문서 조회
     List<Document> findByCreatedBy(User createdBy);
 
@@ -20,17 +42,50 @@ public interface DocumentRepository extends JpaRepository<Document, Long> {
     // 최근 문서 조회 (최근 30일)
     List<Document> findByCreatedAtAfterOrderByCreatedAtDesc(LocalDateTime date);
 
-    // 폴더별 문서 조회
-    List<Document> findByFolderAndCreatedBy(Folder folder, User createdBy);
+    // 전체 목록 스트리밍용 (id 순으로 나누어 조회)
+    @Query(SUMMARY_SELECT + "WHERE d.id > :lastId ORDER BY d.id")
+    List<DocumentSummaryResponse> findSummariesAfter(@Param("lastId") Long lastId, Pageable pageable);
 
-    // 중요 문서 조회
-    List<Document> findByIsStarredTrueAndCreatedBy(User createdBy);
+    boolean existsByFolder(Folder folder);
 
-    // 최근 문서 조회 (최근 30일)
-    List<Document> findByCreatedByAndCreatedAtAfterOrderByCreatedAtDesc(
-            User createdBy,
-            LocalDateTime date);
+    @Query("SELECT d.id FROM Document d WHERE d.folder.id IN :folderIds")
+    List<Long> findIdsByFolderIdIn(@Param("folderIds") Collection<Long> folderIds);
+
+    // 검색 색인 구축용 (id, 제목, 내용, 작성자 id를 id 순으로 나누어 조회)
+    @Query("SELECT d.id, d.title, d.content, d.createdBy.id FROM Document d WHERE d.id > :lastId ORDER BY d.id")
+    List<Object[]> findIndexRows(@Param("lastId") Long lastId, Pageable pageable);
+
+    // 자동완성 사전 구축용 (id, 제목, 작성자 id)
+    @Query("SELECT d.id, d.title, d.createdBy.id FROM Document d WHERE d.id > :lastId ORDER BY d.id")
+    List<Object[]> findTitleRows(@Param("lastId") Long lastId, Pageable pageable);
+
+    // 검색 색인 구축 중에 사용하는 제목/내용 LIKE 검색
+    @Query("SELECT d FROM Document d WHERE d.createdBy = :user "
+            + "AND (d.title LIKE %:keyword% OR d.content LIKE %:keyword%)")
+    Page<Document> searchByCreatedBy(@Param("user") User user, @Param("keyword") String keyword, Pageable pageable);
+
+    // 커서 기반 목록 (최신 순, 크기는 pageable로 제한)
+    @Query(SUMMARY_SELECT + "WHERE d.createdBy = :user AND d.folder = :folder "
+            + "AND (d.createdAt < :createdAt OR (d.createdAt = :createdAt AND d.id < :id)) "
+            + "ORDER BY d.createdAt DESC, d.id DESC")
+    List<DocumentSummaryResponse> findFolderPageAfter(@Param("user") User user, @Param("folder") Folder folder,
+            @Param("createdAt") LocalDateTime createdAt, @Param("id") Long id, Pageable pageable);
+
+    @Query(SUMMARY_SELECT + "WHERE d.createdBy = :user AND d.isStarred = true "
+            + "AND (d.createdAt < :createdAt OR (d.createdAt = :createdAt AND d.id < :id)) "
+            + "ORDER BY d.createdAt DESC, d.id DESC")
+    List<DocumentSummaryResponse> findStarredPageAfter(@Param("user") User user,
+            @Param("createdAt") LocalDateTime createdAt, @Param("id") Long id, Pageable pageable);
+
+    @Query(SUMMARY_SELECT + "WHERE d.createdBy = :user AND d.createdAt > :since "
+            + "AND (d.createdAt < :createdAt OR (d.createdAt = :createdAt AND d.id < :id)) "
+            + "ORDER BY d.createdAt DESC, d.id DESC")
+    List<DocumentSummaryResponse> findRecentPageAfter(@Param("user") User user, @Param("since") LocalDateTime since,
+            @Param("createdAt") LocalDateTime createdAt, @Param("id") Long id, Pageable pageable);
+
+    long countByFolderAndCreatedBy(Folder folder, User createdBy);
+
+    long countByIsStarredTrueAndCreatedBy(User createdBy);
 
-    // 폴더 내 문서 수 조회
-    long countByFolder(Folder folder);
+    long countByCreatedByAndCreatedAtAfter(User createdBy, LocalDateTime date);
 }
@@ -0,0 +1,63 @@
+package com.td.dms.repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.td.dms.entity.FileBlob;
+
+public interface FileBlobRepository extends JpaRepository<FileBlob, String> {
+    // 참조 수 증가 (blob이 없으면 0 반환)
+    @Modifying
+    @Query("UPDATE FileBlob b SET b.referenceCount = b.referenceCount + :count WHERE b.hash = :hash")
+    int incrementReferenceCount(@Param("hash") String hash, @Param("count") long count);
+
+    /**
+     * 참조 수 0인 blob 행을 만들어 바로 커밋합니다 (참조 수는 메타데이터를 기록하는 트랜잭션에서 올림).
+     * 트랜잭션이 없는 업로드 1단계(stage)에서만 호출하므로 커넥션을 한 번에 하나만 사용합니다.
+     * 같은 내용의 첫 업로드가 동시에 들어오면 한쪽만 성공하고 나머지는 DataIntegrityViolationException을 받습니다.
+     */
+    @Transactional
+    @Modifying
+    @Query(value = "INSERT INTO file_blobs (hash, file_path, file_size, crc32, compression, stored_size, "
+            + "reference_count, created_at) VALUES (:hash, :hash, :fileSize, :crc32, :compression, :storedSize, 0, "
+            + "CURRENT_TIMESTAMP)", nativeQuery = true)
+    int insertUnreferenced(@Param("hash") String hash, @Param("fileSize") long fileSize, @Param("crc32") long crc32,
+            @Param("compression") String compression, @Param("storedSize") long storedSize);
+
+    // 참조 없이 남은 blob (blob 행을 만든 업로드가 롤백된 경우)
+    @Query("SELECT b.hash FROM FileBlob b WHERE b.referenceCount = 0 AND b.createdAt < :before ORDER BY b.hash")
+    List<String> findUnreferencedHashes(@Param("before") LocalDateTime before, Pageable pageable);
+
+    // 참조 수 감소
+    @Modifying
+    @Query("UPDATE FileBlob b SET b.referenceCount = b.referenceCount - 1 WHERE b.hash = :hash AND b.referenceCount > 0")
+    int decrementReferenceCount(@Param("hash") String hash);
+
+    // 더 이상 참조되지 않는 blob 삭제
+    @Modifying
+    @Query("DELETE FROM FileBlob b WHERE b.hash = :hash AND b.referenceCount = 0")
+    int deleteIfUnreferenced(@Param("hash") String hash);
+
+    // 이전 형식(평면 경로)의 filePath가 남아 있는 blob (마이그레이션용)
+    List<FileBlob> findByFilePathStartingWithAndHashGreaterThanOrderByHashAsc(String prefix, String hash,
+            Pageable pageable);
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE FileBlob b SET b.filePath = :filePath WHERE b.hash = :hash")
+    void updateFilePath(@Param("hash") String hash, @Param("filePath") String filePath);
+
+    // 주어진 해시 중 DB에 있는 것 (정합성 점검용)
+    @Query("SELECT b.hash FROM FileBlob b WHERE b.hash IN :hashes")
+    List<String> findExistingHashes(@Param("hashes") Collection<String> hashes);
+
+    List<FileBlob> findByHashGreaterThanOrderByHashAsc(String hash, Pageable pageable);
+}
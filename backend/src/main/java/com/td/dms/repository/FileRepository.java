@@ -1,10 +1,70 @@
 package com.td.dms.repository;
 
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collection;
 import java.util.List;
 
+import com.td.dms.dto.FileExportRow;
 import com.td.dms.entity.FileEntity;
+import com.td.dms.entity.User;
+import com.td.dms.entity.TextExtractionStatus;
 
 public interface FileRepository extends JpaRepository<FileEntity, Long> {
     List<FileEntity> findByDocumentId(Long documentId);
-}
\ No newline at end of file
+
+    // 이전 형식(평면 경로)의 filePath가 남아 있는 파일 (마이그레이션용)
+    List<FileEntity> findByFilePathStartingWithAndIdGreaterThanOrderByIdAsc(String prefix, Long id,
+            Pageable pageable);
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE FileEntity f SET f.filePath = :filePath WHERE f.id = :id")
+    void updateFilePath(@Param("id") Long id, @Param("filePath") String filePath);
+
+    // blob 없이 저장 파일명을 키로 쓰는 이전 형식 파일 (정합성 점검용)
+    @Query("SELECT f.storedFileName FROM FileEntity f WHERE f.blob IS NULL AND f.storedFileName IN :names")
+    List<String> findLegacyStoredFileNames(@Param("names") Collection<String> names);
+
+    List<FileEntity> findByBlobIsNullAndIdGreaterThanOrderByIdAsc(Long id, Pageable pageable);
+
+    // 폴더 내 문서의 첨부파일 (ZIP 내보내기, id 순 키셋 페이지)
+    @Query("SELECT new com.td.dms.dto.FileExportRow(f.id, f.originalFileName, f.filePath, f.storedFileName, "
+            + "f.fileSize, b.crc32, f.compression, d.title) "
+            + "FROM FileEntity f JOIN f.document d LEFT JOIN f.blob b "
+            + "WHERE d.folder.id = :folderId AND f.id > :lastId ORDER BY f.id")
+    List<FileExportRow> findExportRowsByFolderId(@Param("folderId") Long folderId, @Param("lastId") Long lastId,
+            Pageable pageable);
+
+    // 선택한 파일 중 사용자가 소유한 문서/게시글의 첨부파일이거나 직접 올린 파일만
+    @Query("SELECT new com.td.dms.dto.FileExportRow(f.id, f.originalFileName, f.filePath, f.storedFileName, "
+            + "f.fileSize, b.crc32, f.compression, d.title) "
+            + "FROM FileEntity f LEFT JOIN f.document d LEFT JOIN f.post p LEFT JOIN f.blob b "
+            + "WHERE f.id IN :ids AND f.id > :lastId "
+            + "AND (d.createdBy = :user OR p.author = :user OR f.uploadedBy = :user) ORDER BY f.id")
+    List<FileExportRow> findExportRowsByIdIn(@Param("ids") Collection<Long> ids, @Param("user") User user,
+            @Param("lastId") Long lastId, Pageable pageable);
+
+    // 문서 검색 색인용 (문서 id, 첨부파일 이름, 추출된 본문)
+    @Query("SELECT f.document.id, f.originalFileName, t.content FROM FileEntity f "
+            + "LEFT JOIN FileText t ON t.fileId = f.id WHERE f.document.id IN :documentIds")
+    List<Object[]> findAttachmentTextsByDocumentIdIn(@Param("documentIds") Collection<Long> documentIds);
+
+    // 게시글별 첨부파일 요약 (게시글 id, 파일 id, 이름, 크기, 본문 추출 상태)
+    @Query("SELECT f.post.id, f.id, f.originalFileName, f.fileSize, f.textStatus FROM FileEntity f "
+            + "WHERE f.post.id IN :postIds ORDER BY f.id")
+    List<Object[]> findSummariesByPostIdIn(@Param("postIds") Collection<Long> postIds);
+
+    // 본문 추출 대기열 (id 순)
+    @Query("SELECT f.id FROM FileEntity f WHERE f.textStatus = :status ORDER BY f.id")
+    List<Long> findIdsByTextStatus(@Param("status") TextExtractionStatus status, Pageable pageable);
+
+    @Modifying
+    @Query("UPDATE FileEntity f SET f.textStatus = :status WHERE f.id = :id")
+    int updateTextStatus(@Param("id") Long id, @Param("status") TextExtractionStatus status);
+}
@@ -0,0 +1,14 @@
+package com.td.dms.repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import com.td.dms.entity.FileText;
+
+public interface FileTextRepository extends JpaRepository<FileText, Long> {
+    @Modifying
+    @Query("DELETE FROM FileText t WHERE t.fileId = :fileId")
+    int deleteByFileId(@Param("fileId") Long fileId);
+}
@@ -0,0 +1,39 @@
+package com.td.dms.repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.td.dms.entity.FileTombstone;
+
+public interface FileTombstoneRepository extends JpaRepository<FileTombstone, Long> {
+    // 삭제 대상 (유예 시간이 지났고 재시도 한도 이내)
+    List<FileTombstone> findTop100ByCreatedAtBeforeAndAttemptsLessThanOrderByIdAsc(LocalDateTime createdAt,
+            int attempts);
+
+    boolean existsByStorageKey(String storageKey);
+
+    // 같은 내용이 다시 업로드되면 업로드 트랜잭션에서 삭제 예약을 취소 (GC가 같은 행을 가져가는 중이면 커밋까지 기다림)
+    @Modifying
+    @Query("DELETE FROM FileTombstone t WHERE t.storageKey = :key")
+    int deleteByStorageKey(@Param("key") String key);
+
+    // GC가 삭제할 tombstone을 잠금 삭제로 가져감 (0이면 업로드가 먼저 취소함)
+    @Modifying
+    @Query("DELETE FROM FileTombstone t WHERE t.id = :id")
+    int claim(@Param("id") Long id);
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE FileTombstone t SET t.attempts = t.attempts + 1, t.lastError = :error WHERE t.id = :id")
+    int recordFailure(@Param("id") Long id, @Param("error") String error);
+
+    @Query("SELECT t.storageKey FROM FileTombstone t WHERE t.storageKey IN :keys")
+    List<String> findPendingKeys(@Param("keys") Collection<String> keys);
+}
@@ -0,0 +1,67 @@
+package com.td.dms.repository;
+
+import java.util.Collection;
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.td.dms.entity.FolderPath;
+
+public interface FolderPathRepository extends JpaRepository<FolderPath, Long> {
+    // 새 폴더의 자기 자신 경로
+    @Modifying
+    @Query(value = "INSERT INTO folder_paths (ancestor_id, descendant_id, depth) VALUES (:folderId, :folderId, 0)",
+            nativeQuery = true)
+    int insertSelfPath(@Param("folderId") Long folderId);
+
+    // 새 폴더를 부모의 모든 조상(부모 포함) 아래에 연결
+    @Modifying
+    @Query(value = "INSERT INTO folder_paths (ancestor_id, descendant_id, depth) "
+            + "SELECT ancestor_id, :folderId, depth + 1 FROM folder_paths WHERE descendant_id = :parentId",
+            nativeQuery = true)
+    int insertAncestorPaths(@Param("folderId") Long folderId, @Param("parentId") Long parentId);
+
+    // 이동 1단계: 하위 트리(폴더와 그 자손)와 바깥 조상 사이의 경로 삭제 (하위 트리 내부 경로는 유지)
+    // 같은 테이블을 조건에 쓰기 위해 파생 테이블로 한 번 감쌈 (MySQL 제약)
+    @Modifying
+    @Query(value = "DELETE FROM folder_paths WHERE descendant_id IN (SELECT s.descendant_id FROM "
+            + "(SELECT descendant_id FROM folder_paths WHERE ancestor_id = :folderId) s) "
+            + "AND ancestor_id IN (SELECT a.ancestor_id FROM "
+            + "(SELECT ancestor_id FROM folder_paths WHERE descendant_id = :folderId AND ancestor_id <> :folderId) a)",
+            nativeQuery = true)
+    int detachSubtree(@Param("folderId") Long folderId);
+
+    // 이동 2단계: 하위 트리 전체를 새 부모와 그 모든 조상 아래에 연결
+    @Modifying
+    @Query(value = "INSERT INTO folder_paths (ancestor_id, descendant_id, depth) "
+            + "SELECT a.ancestor_id, s.descendant_id, a.depth + s.depth + 1 "
+            + "FROM folder_paths a CROSS JOIN folder_paths s "
+            + "WHERE a.descendant_id = :parentId AND s.ancestor_id = :folderId", nativeQuery = true)
+    int attachSubtree(@Param("folderId") Long folderId, @Param("parentId") Long parentId);
+
+    boolean existsByAncestorIdAndDescendantId(Long ancestorId, Long descendantId);
+
+    // 하위 폴더 존재 여부 (depth 1 = 바로 아래 폴더)
+    boolean existsByAncestorIdAndDepth(Long ancestorId, int depth);
+
+    // 하위 트리의 폴더 id (자기 자신 포함)
+    @Query("SELECT p.descendantId FROM FolderPath p WHERE p.ancestorId = :folderId")
+    List<Long> findDescendantIds(@Param("folderId") Long folderId);
+
+    @Modifying
+    @Query("DELETE FROM FolderPath p WHERE p.descendantId IN :folderIds")
+    int deleteByDescendantIdIn(@Param("folderIds") Collection<Long> folderIds);
+
+    // 계층 도입 전의 폴더(모두 최상위)에 자기 자신 경로 추가
+    @Transactional
+    @Modifying
+    @Query(value = "INSERT INTO folder_paths (ancestor_id, descendant_id, depth) "
+            + "SELECT f.id, f.id, 0 FROM folder f WHERE NOT EXISTS "
+            + "(SELECT 1 FROM folder_paths p WHERE p.ancestor_id = f.id AND p.descendant_id = f.id)",
+            nativeQuery = true)
+    int insertMissingSelfPaths();
+}
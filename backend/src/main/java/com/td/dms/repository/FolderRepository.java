@@ -2,10 +2,14 @@ package com.td.dms.repository;
 
 import com.td.dms.entity.Folder;
 import com.td.dms.entity.User;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -14,11 +18,57 @@ public interface FolderRepository extends JpaRepository<Folder, Long> {
 
     Optional<Folder> findByIdAndCreatedBy(Long id, User user);
 
-    Boolean existsByNameAndCreatedBy(String name, User user);
+    // 같은 상위 폴더 안의 이름 중복 확인 (parent가 null이면 최상위)
+    boolean existsByCreatedByAndParentAndName(User user, Folder parent, String name);
 
-    @Query("SELECT f.id, f.name, COUNT(d) as documentCount " +
-            "FROM Folder f LEFT JOIN f.documents d " +
-            "WHERE f.createdBy = :user " +
-            "GROUP BY f.id, f.name")
+    // 폴더 목록 (id, 이름, 문서 수, 상위 폴더 id). 문서 수는 저장된 값을 그대로 읽음
+    @Query("SELECT f.id, f.name, f.documentCount, parentFolder.id " +
+            "FROM Folder f LEFT JOIN f.parent parentFolder " +
+            "WHERE f.createdBy = :user")
     List<Object[]> findFoldersWithDocumentCount(@Param("user") User user);
+
+    // 하위 트리 (id, 이름, 상위 폴더 id, 문서 수, 자기 자신 포함, 가까운 순)
+    @Query("SELECT f.id, f.name, parentFolder.id, f.documentCount "
+            + "FROM FolderPath p JOIN Folder f ON f.id = p.descendantId LEFT JOIN f.parent parentFolder "
+            + "WHERE p.ancestorId = :folderId ORDER BY p.depth, f.name")
+    List<Object[]> findSubtreeRows(@Param("folderId") Long folderId);
+
+    // 하위 폴더까지 포함한 문서 수
+    @Query("SELECT COALESCE(SUM(f.documentCount), 0) FROM FolderPath p JOIN Folder f ON f.id = p.descendantId "
+            + "WHERE p.ancestorId = :folderId")
+    long sumDocumentCountInSubtree(@Param("folderId") Long folderId);
+
+    // 문서 수 증감 (읽고 쓰는 사이에 다른 요청이 끼어들지 않도록 UPDATE 한 번으로 처리)
+    @Modifying
+    @Query("UPDATE Folder f SET f.documentCount = f.documentCount + :delta WHERE f.id = :folderId")
+    int adjustDocumentCount(@Param("folderId") Long folderId, @Param("delta") int delta);
+
+    // 문서 수 보정용 (id, 저장된 문서 수, 실제 문서 수를 id 순으로 나누어 조회)
+    @Query("SELECT f.id, f.documentCount, (SELECT COUNT(d) FROM Document d WHERE d.folder = f) "
+            + "FROM Folder f WHERE f.id > :lastId ORDER BY f.id")
+    List<Object[]> findDocumentCountRows(@Param("lastId") Long lastId, Pageable pageable);
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE Folder f SET f.documentCount = (SELECT COUNT(d) FROM Document d WHERE d.folder.id = f.id) "
+            + "WHERE f.id = :folderId")
+    int recountDocuments(@Param("folderId") Long folderId);
+
+    // 최상위부터 폴더까지의 경로 (id, 이름, 상위 폴더 id)
+    @Query("SELECT f.id, f.name, parentFolder.id FROM FolderPath p JOIN Folder f ON f.id = p.ancestorId "
+            + "LEFT JOIN f.parent parentFolder WHERE p.descendantId = :folderId ORDER BY p.depth DESC")
+    List<Object[]> findPathRows(@Param("folderId") Long folderId);
+
+    // 하위 트리 삭제용 (상위 폴더 참조를 먼저 끊어 삭제 순서에 관계없이 지울 수 있게 함)
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE Folder f SET f.parent = NULL WHERE f.id IN :ids")
+    int clearParents(@Param("ids") Collection<Long> ids);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("DELETE FROM Folder f WHERE f.id IN :ids")
+    int deleteByIdIn(@Param("ids") Collection<Long> ids);
+
+    // 자동완성 사전 구축용 (id, 이름, 작성자 id)
+    @Query("SELECT f.id, f.name, f.createdBy.id FROM Folder f WHERE f.id > :lastId ORDER BY f.id")
+    List<Object[]> findNameRows(@Param("lastId") Long lastId, Pageable pageable);
 }
\ No newline at end of file
@@ -4,12 +4,23 @@ import com.td.dms.entity.Post;
 import com.td.dms.entity.User;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
 
 public interface PostRepository extends JpaRepository<Post, Long> {
+    // 수정/삭제용 (작성자와 첨부파일을 함께 조회)
+    @EntityGraph("Post.edit")
+    Optional<Post> findEditById(Long id);
+
     // 사용자별 게시글 조회
     Page<Post> findByAuthor(User author, Pageable pageable);
 
@@ -22,8 +33,50 @@ public interface PostRepository extends JpaRepository<Post, Long> {
     // 제목 또는 내용으로 검색
     Page<Post> findByTitleContainingOrContentContaining(String titleKeyword, String contentKeyword, Pageable pageable);
 
-    // 조회수 증가
+    // 댓글 수 증감 (읽고 쓰는 사이에 다른 요청이 끼어들지 않도록 UPDATE 한 번으로 처리)
+    @Modifying
+    @Query("UPDATE Post p SET p.commentCount = p.commentCount + :delta WHERE p.id = :postId")
+    int adjustCommentCount(@Param("postId") Long postId, @Param("delta") int delta);
+
+    // 댓글 수 보정용 (id, 저장된 댓글 수, 실제 댓글 수를 id 순으로 나누어 조회)
+    @Query("SELECT p.id, p.commentCount, (SELECT COUNT(c) FROM Comment c WHERE c.post = p) "
+            + "FROM Post p WHERE p.id > :lastId ORDER BY p.id")
+    List<Object[]> findCommentCountRows(@Param("lastId") Long lastId, Pageable pageable);
+
+    @Transactional
     @Modifying
-    @Query("UPDATE Post p SET p.viewCount = p.viewCount + 1 WHERE p.id = :postId")
-    void incrementViewCount(@Param("postId") Long postId);
+    @Query("UPDATE Post p SET p.commentCount = (SELECT COUNT(c) FROM Comment c WHERE c.post.id = p.id) "
+            + "WHERE p.id = :postId")
+    int recountComments(@Param("postId") Long postId);
+
+    // 검색 색인 구축용 (id, 제목, 내용을 id 순으로 나누어 조회)
+    @Query("SELECT p.id, p.title, p.content FROM Post p WHERE p.id > :lastId ORDER BY p.id")
+    List<Object[]> findIndexRows(@Param("lastId") Long lastId, Pageable pageable);
+
+    // 게시글 id별 작성자 이름 (목록 응답 조립용)
+    @Query("SELECT p.id, u.username FROM Post p JOIN p.author u WHERE p.id IN :postIds")
+    List<Object[]> findAuthorNames(@Param("postIds") Collection<Long> postIds);
+
+    // 자동완성 사전 구축용 (id, 제목)
+    @Query("SELECT p.id, p.title FROM Post p WHERE p.id > :lastId ORDER BY p.id")
+    List<Object[]> findTitleRows(@Param("lastId") Long lastId, Pageable pageable);
+
+    // 커서 다음의 게시글 (최신 순, 크기는 pageable로 제한)
+    @Query("SELECT p FROM Post p WHERE p.createdAt < :createdAt OR (p.createdAt = :createdAt AND p.id < :id) "
+            + "ORDER BY p.createdAt DESC, p.id DESC")
+    List<Post> findPageAfter(@Param("createdAt") LocalDateTime createdAt, @Param("id") Long id, Pageable pageable);
+
+    // 검색 색인 구축 중에 사용하는 커서 기반 LIKE 검색 (최신 순)
+    @Query("SELECT p FROM Post p WHERE ((:inTitle = true AND p.title LIKE %:keyword%) "
+            + "OR (:inContent = true AND p.content LIKE %:keyword%)) "
+            + "AND (p.createdAt < :createdAt OR (p.createdAt = :createdAt AND p.id < :id)) "
+            + "ORDER BY p.createdAt DESC, p.id DESC")
+    List<Post> searchPageAfter(@Param("keyword") String keyword, @Param("inTitle") boolean inTitle,
+            @Param("inContent") boolean inContent, @Param("createdAt") LocalDateTime createdAt,
+            @Param("id") Long id, Pageable pageable);
+
+    @Query("SELECT COUNT(p) FROM Post p WHERE (:inTitle = true AND p.title LIKE %:keyword%) "
+            + "OR (:inContent = true AND p.content LIKE %:keyword%)")
+    long countSearch(@Param("keyword") String keyword, @Param("inTitle") boolean inTitle,
+            @Param("inContent") boolean inContent);
 }
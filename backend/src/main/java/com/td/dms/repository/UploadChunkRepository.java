@@ -0,0 +1,26 @@
+package com.td.dms.repository;
+
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.td.dms.entity.UploadChunk;
+
+public interface UploadChunkRepository extends JpaRepository<UploadChunk, Long> {
+    // 기록이 끝난 청크 번호 (오름차순)
+    @Query("SELECT c.chunkIndex FROM UploadChunk c WHERE c.session.id = :sessionId ORDER BY c.chunkIndex")
+    List<Integer> findChunkIndexes(@Param("sessionId") String sessionId);
+
+    boolean existsBySessionIdAndChunkIndex(String sessionId, int chunkIndex);
+
+    long countBySessionId(String sessionId);
+
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM UploadChunk c WHERE c.session.id = :sessionId")
+    void deleteBySessionId(@Param("sessionId") String sessionId);
+}
@@ -0,0 +1,23 @@
+package com.td.dms.repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import com.td.dms.entity.UploadSession;
+import com.td.dms.entity.User;
+
+public interface UploadSessionRepository extends JpaRepository<UploadSession, String> {
+    Optional<UploadSession> findByIdAndUserUsername(String id, String username);
+
+    // 만료된 세션을 id 순으로 조회 (정리 작업용, 정리하지 못한 세션은 건너뛰고 다음 id부터 읽음)
+    List<UploadSession> findTop100ByExpiresAtBeforeAndIdGreaterThanOrderByIdAsc(LocalDateTime now, String id);
+
+    // 사용자의 세션 수와 미리 확보한 전체 크기 (세션 생성 제한용, 만료됐지만 아직 정리되지 않은 세션도 디스크를 차지하므로 포함)
+    @Query("SELECT COUNT(s), COALESCE(SUM(s.fileSize), 0) FROM UploadSession s WHERE s.user = :user")
+    List<Object[]> sumSessionsByUser(@Param("user") User user);
+}
@@ -0,0 +1,25 @@
+package com.td.dms.search;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * 색인과 검색어에 적용되는 텍스트 분석기.
+ * 구현체는 dms.search.analyzer 설정으로 선택합니다 (korean-ngram, standard).
+ */
+public interface Analyzer {
+    // 색인할 텍스트. 토큰을 목록에 모으지 않고 하나씩 consumer에 전달
+    void analyze(String text, Consumer<String> consumer);
+
+    // 검색어. 색인 토큰을 줄이지 않고 검색어 쪽에서만 정규화하는 분석기는 재정의 (기본은 색인과 같음)
+    default void analyzeQuery(String text, Consumer<String> consumer) {
+        analyze(text, consumer);
+    }
+
+    default List<String> analyze(String text) {
+        List<String> tokens = new ArrayList<>();
+        analyze(text, tokens::add);
+        return tokens;
+    }
+}
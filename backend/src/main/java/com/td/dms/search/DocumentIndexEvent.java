@@ -0,0 +1,20 @@
+package com.td.dms.search;
+
+/**
+ * 문서 변경 알림. 트랜잭션이 커밋된 뒤에 검색 색인에 반영됩니다.
+ *
+ * @param ownerId        문서 작성자 id (검색 결과를 작성자 본인 문서로 제한)
+ * @param attachmentText 첨부파일에서 검색할 텍스트 (파일 이름 등)
+ * @param deleted        true이면 색인에서 제거
+ */
+public record DocumentIndexEvent(Long documentId, Long ownerId, String title, String content,
+        String attachmentText, boolean deleted) {
+    public static DocumentIndexEvent saved(Long documentId, Long ownerId, String title, String content,
+            String attachmentText) {
+        return new DocumentIndexEvent(documentId, ownerId, title, content, attachmentText, false);
+    }
+
+    public static DocumentIndexEvent deleted(Long documentId) {
+        return new DocumentIndexEvent(documentId, null, null, null, null, true);
+    }
+}
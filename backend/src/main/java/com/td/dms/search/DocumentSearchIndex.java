@@ -0,0 +1,178 @@
+package com.td.dms.search;
+
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.td.dms.repository.DocumentRepository;
+import com.td.dms.repository.FileRepository;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 문서 제목/내용/첨부파일 검색 색인.
+ * 게시글 색인과 같은 방식으로 시작 시 한 번 구축하고 문서 변경이 커밋될 때마다 갱신합니다.
+ * 문서는 본인만 검색하므로 작성자별로 색인을 따로 두어, 검색 비용과 BM25 통계(문서 빈도, 평균 길이)가
+ * 다른 사용자의 문서에 영향을 받지 않게 합니다.
+ */
+@Component
+@Slf4j
+public class DocumentSearchIndex {
+    public static final String TITLE = "title";
+    public static final String CONTENT = "content";
+    public static final String ATTACHMENT = "attachment";
+
+    public static final Map<String, Double> ALL_FIELDS = Map.of(TITLE, 2.0, CONTENT, 1.0, ATTACHMENT, 0.7);
+
+    private static final int BATCH_SIZE = 500;
+
+    private final DocumentRepository documentRepository;
+    private final FileRepository fileRepository;
+    private final Analyzer analyzer;
+    // 작성자 id -> 그 작성자의 문서 색인
+    private final Map<Long, InvertedIndex> indexes = new ConcurrentHashMap<>();
+    // 문서 id -> 작성자 id (작성자가 바뀌면 이전 작성자의 색인에서 빼기 위해 사용)
+    private final Map<Long, Long> owners = new ConcurrentHashMap<>();
+    // 초기 구축 중 삭제된 문서 (구축이 삭제 전에 읽은 행으로 되살리지 않도록, 구축이 끝나면 비움)
+    private final Set<Long> removedDuringBuild = new HashSet<>();
+    private boolean building = true;
+
+    private volatile boolean ready;
+
+    public DocumentSearchIndex(DocumentRepository documentRepository, FileRepository fileRepository,
+            Analyzer analyzer) {
+        this.documentRepository = documentRepository;
+        this.fileRepository = fileRepository;
+        this.analyzer = analyzer;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void startBuild() {
+        Thread.ofVirtual().name("document-index-build").start(this::build);
+    }
+
+    void build() {
+        try {
+            Long lastId = 0L;
+            List<Object[]> rows;
+            do {
+                rows = documentRepository.findIndexRows(lastId, PageRequest.ofSize(BATCH_SIZE));
+                Map<Long, String> attachmentTexts = attachmentTexts(rows);
+                for (Object[] row : rows) {
+                    lastId = (Long) row[0];
+                    indexIfAbsent(lastId, (Long) row[3],
+                            fieldTexts((String) row[1], (String) row[2], attachmentTexts.get(lastId)));
+                }
+            } while (rows.size() == BATCH_SIZE);
+            ready = true;
+            log.info("문서 검색 색인 구축 완료: {}건 (작성자 {}명)", owners.size(), indexes.size());
+        } catch (RuntimeException e) {
+            log.error("문서 검색 색인 구축 중 오류 발생: {}", e.getMessage());
+        } finally {
+            finishBuild();
+        }
+    }
+
+    // 구축 중 이미 반영된 변경(수정/삭제)은 덮어쓰지 않음
+    private synchronized void indexIfAbsent(Long documentId, Long ownerId, Map<String, String> fields) {
+        if (owners.containsKey(documentId) || removedDuringBuild.contains(documentId)) {
+            return;
+        }
+        owners.put(documentId, ownerId);
+        indexFor(ownerId).index(documentId, fields);
+    }
+
+    private synchronized void finishBuild() {
+        building = false;
+        removedDuringBuild.clear();
+    }
+
+    // 작성자별 색인 (구축 여부는 여기서 관리하므로 InvertedIndex의 구축 상태는 바로 끝냄)
+    private InvertedIndex indexFor(Long ownerId) {
+        return indexes.computeIfAbsent(ownerId, key -> {
+            InvertedIndex index = new InvertedIndex(analyzer, TITLE, CONTENT, ATTACHMENT);
+            index.finishBuild();
+            return index;
+        });
+    }
+
+    // 한 배치에 속한 문서들의 첨부파일 텍스트를 한 번에 조회
+    private Map<Long, String> attachmentTexts(List<Object[]> rows) {
+        if (rows.isEmpty()) {
+            return Map.of();
+        }
+        return attachmentTexts(rows.stream().map(row -> (Long) row[0]).toList());
+    }
+
+    // 첨부파일 이름과 추출된 본문을 합친 문서의 첨부파일 검색 텍스트
+    public String attachmentText(Long documentId) {
+        return attachmentTexts(List.of(documentId)).getOrDefault(documentId, "");
+    }
+
+    private Map<Long, String> attachmentTexts(Collection<Long> documentIds) {
+        return fileRepository.findAttachmentTextsByDocumentIdIn(documentIds).stream()
+                .collect(Collectors.groupingBy(row -> (Long) row[0],
+                        Collectors.mapping(row -> row[2] != null ? row[1] + " " + row[2] : (String) row[1],
+                                Collectors.joining(" "))));
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public synchronized void onDocumentChanged(DocumentIndexEvent event) {
+        Long documentId = event.documentId();
+        if (event.deleted()) {
+            if (building) {
+                removedDuringBuild.add(documentId);
+            }
+            Long ownerId = owners.remove(documentId);
+            if (ownerId != null) {
+                indexFor(ownerId).remove(documentId);
+            }
+        } else {
+            Long previousOwnerId = owners.put(documentId, event.ownerId());
+            if (previousOwnerId != null && !previousOwnerId.equals(event.ownerId())) {
+                indexFor(previousOwnerId).remove(documentId);
+            }
+            indexFor(event.ownerId()).index(documentId,
+                    fieldTexts(event.title(), event.content(), event.attachmentText()));
+        }
+    }
+
+    // 구축이 끝나기 전에는 false (호출 측에서 DB 검색으로 대체)
+    public boolean isReady() {
+        return ready;
+    }
+
+    // 작성자 본인의 색인만 읽음
+    public SearchResult search(String keyword, Long ownerId, int offset, int limit) {
+        InvertedIndex index = indexes.get(ownerId);
+        if (index == null) {
+            return SearchResult.empty();
+        }
+        return index.search(keyword, ALL_FIELDS, id -> true, offset, limit);
+    }
+
+    // 미리보기 강조에 쓸 검색어 토큰 (검색과 같은 분석 사용)
+    public Set<String> queryTerms(String keyword) {
+        Set<String> terms = new LinkedHashSet<>();
+        analyzer.analyzeQuery(keyword, terms::add);
+        return terms;
+    }
+
+    private static Map<String, String> fieldTexts(String title, String content, String attachmentText) {
+        return Map.of(TITLE, Objects.toString(title, ""), CONTENT, Objects.toString(content, ""),
+                ATTACHMENT, Objects.toString(attachmentText, ""));
+    }
+}
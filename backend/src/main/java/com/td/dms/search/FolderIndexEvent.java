@@ -0,0 +1,16 @@
+package com.td.dms.search;
+
+/**
+ * 폴더 변경 알림. 트랜잭션이 커밋된 뒤에 자동완성 사전에 반영됩니다.
+ *
+ * @param deleted true이면 사전에서 제거
+ */
+public record FolderIndexEvent(Long folderId, Long ownerId, String name, boolean deleted) {
+    public static FolderIndexEvent saved(Long folderId, Long ownerId, String name) {
+        return new FolderIndexEvent(folderId, ownerId, name, false);
+    }
+
+    public static FolderIndexEvent deleted(Long folderId) {
+        return new FolderIndexEvent(folderId, null, null, true);
+    }
+}
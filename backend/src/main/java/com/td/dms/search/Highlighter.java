@@ -0,0 +1,78 @@
+package com.td.dms.search;
+
+import java.util.Collection;
+import java.util.Locale;
+
+// 검색어가 나온 부분을 <em>으로 감싼 미리보기 문장을 만드는 도구 (나머지 부분은 HTML 이스케이프)
+public final class Highlighter {
+    private static final String ELLIPSIS = "…";
+
+    private Highlighter() {
+    }
+
+    /**
+     * 처음 일치하는 위치 주변을 최대 maxLength 글자만큼 잘라 반환합니다.
+     *
+     * @param terms 분석기로 만든 검색어 토큰 (n-gram이 겹치는 부분은 하나로 이어서 강조)
+     * @return 일치하는 부분이 없으면 null
+     */
+    public static String snippet(String text, Collection<String> terms, int maxLength) {
+        if (text == null || text.isEmpty() || terms.isEmpty()) {
+            return null;
+        }
+        String lower = text.toLowerCase(Locale.ROOT);
+        if (lower.length() != text.length()) {
+            lower = text;
+        }
+
+        boolean[] matched = new boolean[text.length()];
+        int first = -1;
+        for (String term : terms) {
+            for (int i = lower.indexOf(term); i >= 0; i = lower.indexOf(term, i + 1)) {
+                for (int j = i; j < i + term.length(); j++) {
+                    matched[j] = true;
+                }
+                if (first < 0 || i < first) {
+                    first = i;
+                }
+            }
+        }
+        if (first < 0) {
+            return null;
+        }
+
+        // 일치 위치가 앞쪽 1/4 지점에 오도록 자름
+        int start = Math.max(0, first - maxLength / 4);
+        int end = Math.min(text.length(), start + maxLength);
+        start = Math.max(0, end - maxLength);
+
+        StringBuilder snippet = new StringBuilder(end - start + 32);
+        if (start > 0) {
+            snippet.append(ELLIPSIS);
+        }
+        for (int i = start; i < end; i++) {
+            if (matched[i] && (i == start || !matched[i - 1])) {
+                snippet.append("<em>");
+            }
+            appendEscaped(snippet, text.charAt(i));
+            if (matched[i] && (i == end - 1 || !matched[i + 1])) {
+                snippet.append("</em>");
+            }
+        }
+        if (end < text.length()) {
+            snippet.append(ELLIPSIS);
+        }
+        return snippet.toString();
+    }
+
+    private static void appendEscaped(StringBuilder builder, char c) {
+        switch (c) {
+            case '<' -> builder.append("&lt;");
+            case '>' -> builder.append("&gt;");
+            case '&' -> builder.append("&amp;");
+            case '"' -> builder.append("&quot;");
+            case '\'' -> builder.append("&#39;");
+            default -> builder.append(c);
+        }
+    }
+}
@@ -0,0 +1,282 @@
+package com.td.dms.search;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.LongPredicate;
+
+/**
+ * 필드별 역색인과 BM25 점수 계산.
+ * 단어 사전은 정렬된 맵이라 검색어로 시작하는 단어(조사가 붙은 형태 등)도 함께 찾을 수 있습니다.
+ * 색인과 검색어 모두 같은 {@link Analyzer}로 토큰을 만들며, 쓰기는 한 번에 하나씩, 읽기는 동시에 수행됩니다.
+ */
+public class InvertedIndex {
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+    // 검색어로 시작하는 단어는 정확히 일치하는 단어보다 낮은 가중치로 점수에 반영
+    private static final double PREFIX_WEIGHT = 0.5;
+    private static final int MAX_PREFIX_EXPANSIONS = 64;
+
+    private static final Comparator<SearchHit> RANKING = Comparator.comparingDouble(SearchHit::score)
+            .thenComparingLong(SearchHit::id);
+
+    private final Analyzer analyzer;
+    private final Map<String, FieldIndex> fields = new HashMap<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    // 초기 구축 중 삭제된 문서 (구축이 삭제 전에 읽은 행으로 되살리지 않도록, 구축이 끝나면 비움)
+    private final Set<Long> removedDuringBuild = new HashSet<>();
+    private boolean building = true;
+
+    public InvertedIndex(Analyzer analyzer, String... fieldNames) {
+        this.analyzer = analyzer;
+        for (String fieldName : fieldNames) {
+            fields.put(fieldName, new FieldIndex());
+        }
+    }
+
+    // 문서를 새로 색인 (이미 있으면 교체)
+    public void index(long id, Map<String, String> fieldTexts) {
+        Map<String, FieldTerms> fieldTerms = analyze(fieldTexts);
+        lock.writeLock().lock();
+        try {
+            removeInternal(id);
+            addInternal(id, fieldTerms);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * 아직 색인되지 않은 문서만 추가합니다 (초기 구축 중 이미 반영된 변경을 덮어쓰지 않도록).
+     * 구축 중 삭제된 문서는 추가하지 않으며, 추가하지 않았으면 false를 반환합니다.
+     */
+    public boolean indexIfAbsent(long id, Map<String, String> fieldTexts) {
+        Map<String, FieldTerms> fieldTerms = analyze(fieldTexts);
+        lock.writeLock().lock();
+        try {
+            if (contains(id) || removedDuringBuild.contains(id)) {
+                return false;
+            }
+            addInternal(id, fieldTerms);
+            return true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(long id) {
+        lock.writeLock().lock();
+        try {
+            if (building) {
+                removedDuringBuild.add(id);
+            }
+            removeInternal(id);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // 초기 구축이 끝나면(실패 포함) 호출
+    public void finishBuild() {
+        lock.writeLock().lock();
+        try {
+            building = false;
+            removedDuringBuild.clear();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return fields.values().stream().mapToInt(field -> field.lengths.size()).max().orElse(0);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * 검색어의 각 단어를 필드별 BM25로 점수화해 합산하고, 점수 순으로 offset부터 limit개를 반환합니다.
+     *
+     * @param fieldBoosts 검색할 필드와 가중치
+     * @param filter      결과에 포함할 문서 조건 (소유자 제한 등)
+     */
+    public SearchResult search(String query, Map<String, Double> fieldBoosts, LongPredicate filter, int offset,
+            int limit) {
+        Map<Long, Double> scores = score(query, fieldBoosts, filter);
+        return scores == null ? SearchResult.empty() : topHits(scores, null, offset, limit);
+    }
+
+    /**
+     * {@link #search}와 같지만 offset 대신 이전 페이지의 마지막 결과(after) 다음부터 limit개를 반환합니다.
+     * 뒤 페이지로 갈수록 힙이 커지지 않고 항상 limit 크기로 유지됩니다.
+     *
+     * @param after 이전 페이지의 마지막 결과 (첫 페이지면 null)
+     */
+    public SearchResult searchAfter(String query, Map<String, Double> fieldBoosts, LongPredicate filter,
+            SearchHit after, int limit) {
+        Map<Long, Double> scores = score(query, fieldBoosts, filter);
+        return scores == null ? SearchResult.empty() : topHits(scores, after, 0, limit);
+    }
+
+    // 검색어가 비어 있으면 null
+    private Map<Long, Double> score(String query, Map<String, Double> fieldBoosts, LongPredicate filter) {
+        Set<String> queryTerms = new LinkedHashSet<>();
+        analyzer.analyzeQuery(query, queryTerms::add);
+        if (queryTerms.isEmpty()) {
+            return null;
+        }
+
+        Map<Long, Double> scores = new HashMap<>();
+        lock.readLock().lock();
+        try {
+            fieldBoosts.forEach((fieldName, boost) -> {
+                FieldIndex field = fields.get(fieldName);
+                if (field == null || field.lengths.isEmpty()) {
+                    return;
+                }
+                for (String term : queryTerms) {
+                    scoreTerm(field, term, boost, filter, scores);
+                }
+            });
+        } finally {
+            lock.readLock().unlock();
+        }
+        return scores;
+    }
+
+    private void scoreTerm(FieldIndex field, String term, double boost, LongPredicate filter,
+            Map<Long, Double> scores) {
+        int documentCount = field.lengths.size();
+        double averageLength = (double) field.totalLength / documentCount;
+
+        int expansions = 0;
+        for (Map.Entry<String, Map<Long, Integer>> entry : field.postings
+                .subMap(term, true, term + Character.MAX_VALUE, true).entrySet()) {
+            if (expansions++ >= MAX_PREFIX_EXPANSIONS) {
+                break;
+            }
+            Map<Long, Integer> postings = entry.getValue();
+            double weight = boost * (entry.getKey().equals(term) ? 1.0 : PREFIX_WEIGHT);
+            double idf = Math.log(1 + (documentCount - postings.size() + 0.5) / (postings.size() + 0.5));
+
+            postings.forEach((id, termFrequency) -> {
+                if (!filter.test(id)) {
+                    return;
+                }
+                double lengthNorm = 1 - B + B * field.lengths.get(id) / averageLength;
+                double score = weight * idf * termFrequency * (K1 + 1) / (termFrequency + K1 * lengthNorm);
+                scores.merge(id, score, Double::sum);
+            });
+        }
+    }
+
+    // 전체를 정렬하지 않고 offset + limit 크기의 힙으로 상위 결과만 고름 (after가 있으면 그보다 낮은 순위만)
+    private SearchResult topHits(Map<Long, Double> scores, SearchHit after, int offset, int limit) {
+        int size = offset + limit;
+        if (size <= 0 || scores.isEmpty()) {
+            return new SearchResult(scores.size(), List.of());
+        }
+        PriorityQueue<SearchHit> heap = new PriorityQueue<>(Math.min(size, scores.size()), RANKING);
+        scores.forEach((id, score) -> {
+            SearchHit hit = new SearchHit(id, score);
+            if (after != null && RANKING.compare(hit, after) >= 0) {
+                return;
+            }
+            if (heap.size() < size) {
+                heap.add(hit);
+            } else if (RANKING.compare(hit, heap.peek()) > 0) {
+                heap.poll();
+                heap.add(hit);
+            }
+        });
+
+        List<SearchHit> ranked = new ArrayList<>(heap);
+        ranked.sort(RANKING.reversed());
+        List<SearchHit> page = offset < ranked.size() ? ranked.subList(offset, ranked.size()) : List.of();
+        return new SearchResult(scores.size(), page);
+    }
+
+    // 토큰 목록을 만들지 않고 분석하면서 바로 단어 빈도를 셈 (잠금 밖에서 수행)
+    private Map<String, FieldTerms> analyze(Map<String, String> fieldTexts) {
+        Map<String, FieldTerms> fieldTerms = new HashMap<>();
+        fieldTexts.forEach((fieldName, text) -> {
+            if (fields.containsKey(fieldName)) {
+                FieldTerms terms = new FieldTerms();
+                analyzer.analyze(text, terms::add);
+                fieldTerms.put(fieldName, terms);
+            }
+        });
+        return fieldTerms;
+    }
+
+    private boolean contains(long id) {
+        for (FieldIndex field : fields.values()) {
+            if (field.lengths.containsKey(id)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void addInternal(long id, Map<String, FieldTerms> fieldTerms) {
+        fieldTerms.forEach((fieldName, terms) -> {
+            FieldIndex field = fields.get(fieldName);
+            terms.frequencies.forEach((term, frequency) ->
+                    field.postings.computeIfAbsent(term, key -> new HashMap<>()).put(id, frequency));
+            field.terms.put(id, terms.frequencies.keySet().toArray(String[]::new));
+            field.lengths.put(id, terms.length);
+            field.totalLength += terms.length;
+        });
+    }
+
+    private void removeInternal(long id) {
+        for (FieldIndex field : fields.values()) {
+            String[] terms = field.terms.remove(id);
+            if (terms == null) {
+                continue;
+            }
+            for (String term : terms) {
+                Map<Long, Integer> postings = field.postings.get(term);
+                if (postings != null) {
+                    postings.remove(id);
+                    if (postings.isEmpty()) {
+                        field.postings.remove(term);
+                    }
+                }
+            }
+            field.totalLength -= field.lengths.remove(id);
+        }
+    }
+
+    private static final class FieldTerms {
+        private final Map<String, Integer> frequencies = new HashMap<>();
+        private int length;
+
+        private void add(String token) {
+            frequencies.merge(token, 1, Integer::sum);
+            length++;
+        }
+    }
+
+    private static final class FieldIndex {
+        // 단어 -> (문서 id -> 단어 빈도)
+        private final NavigableMap<String, Map<Long, Integer>> postings = new TreeMap<>();
+        // 문서 id -> 문서에 포함된 단어 (삭제할 때 사용)
+        private final Map<Long, String[]> terms = new HashMap<>();
+        // 문서 id -> 단어 수
+        private final Map<Long, Integer> lengths = new HashMap<>();
+        private long totalLength;
+    }
+}
@@ -0,0 +1,108 @@
+package com.td.dms.search;
+
+import java.util.function.Consumer;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * 한글 n-gram 분석기 (기본값, dms.search.analyzer=korean-ngram).
+ * 글자/숫자 구간을 한글과 그 외 문자로 다시 나눈 뒤, 한글은 min-gram ~ max-gram 길이의 글자 조각으로,
+ * 영문/숫자는 소문자 단어 그대로 토큰을 만듭니다.
+ * 조사는 검색어에서만 뗍니다. 색인에서 떼면 조사로 끝나는 것처럼 보이는 명사(고양이, 제주도)의 조각이 빠져
+ * "양이", "주도" 같은 검색어가 맞지 않기 때문입니다.
+ * 예) 검색어 "문서관리에서" → 문서, 서관, 관리, 문서관, 서관리
+ * 토큰 하나당 문자열 하나 외에는 객체를 만들지 않습니다.
+ */
+@Component
+@ConditionalOnProperty(name = "dms.search.analyzer", havingValue = "korean-ngram", matchIfMissing = true)
+public class KoreanNgramAnalyzer implements Analyzer {
+    // 긴 조사부터 검사 (에서 → 서 대신 에서 전체를 떼도록)
+    private static final String[] PARTICLES = {
+            "에서부터", "으로부터", "에게서", "까지는", "에서는", "으로는",
+            "에서", "에게", "한테", "으로", "부터", "까지", "마저", "조차", "처럼", "보다", "이나", "이랑",
+            "은", "는", "이", "가", "을", "를", "의", "에", "와", "과", "도", "로", "만", "나", "랑"
+    };
+
+    private final int minGram;
+    private final int maxGram;
+    private final boolean stripParticles;
+
+    public KoreanNgramAnalyzer(
+            @Value("${dms.search.ngram.min-gram:2}") int minGram,
+            @Value("${dms.search.ngram.max-gram:3}") int maxGram,
+            @Value("${dms.search.ngram.strip-particles:true}") boolean stripParticles) {
+        if (minGram < 1 || maxGram < minGram) {
+            throw new IllegalArgumentException("n-gram 길이 설정이 올바르지 않습니다: " + minGram + "~" + maxGram);
+        }
+        this.minGram = minGram;
+        this.maxGram = maxGram;
+        this.stripParticles = stripParticles;
+    }
+
+    @Override
+    public void analyze(String text, Consumer<String> consumer) {
+        analyze(text, false, consumer);
+    }
+
+    @Override
+    public void analyzeQuery(String text, Consumer<String> consumer) {
+        analyze(text, stripParticles, consumer);
+    }
+
+    private void analyze(String text, boolean strip, Consumer<String> consumer) {
+        if (text == null) {
+            return;
+        }
+        int length = text.length();
+        int start = -1;
+        boolean startHangul = false;
+        for (int i = 0; i <= length; i++) {
+            char c = i < length ? text.charAt(i) : ' ';
+            boolean wordChar = i < length && Character.isLetterOrDigit(c);
+            boolean hangul = wordChar && isHangul(c);
+            if (start >= 0 && (!wordChar || hangul != startHangul)) {
+                if (startHangul) {
+                    emitNgrams(text, start, strip ? stripParticle(text, start, i) : i, consumer);
+                } else {
+                    consumer.accept(text.substring(start, i).toLowerCase());
+                }
+                start = -1;
+            }
+            if (wordChar && start < 0) {
+                start = i;
+                startHangul = hangul;
+            }
+        }
+    }
+
+    private void emitNgrams(String text, int start, int end, Consumer<String> consumer) {
+        int runLength = end - start;
+        // 가장 짧은 조각보다 짧은 단어(한 글자 검색어 등)는 그대로 사용
+        if (runLength < minGram) {
+            consumer.accept(text.substring(start, end));
+            return;
+        }
+        for (int n = minGram; n <= maxGram && n <= runLength; n++) {
+            for (int i = start; i + n <= end; i++) {
+                consumer.accept(text.substring(i, i + n));
+            }
+        }
+    }
+
+    // 조사를 뗀 뒤에도 두 글자 이상 남는 경우에만 떼어냄 ("나이" → "나" 방지)
+    private int stripParticle(String text, int start, int end) {
+        for (String particle : PARTICLES) {
+            int stem = end - particle.length();
+            if (stem - start >= 2 && text.startsWith(particle, stem)) {
+                return stem;
+            }
+        }
+        return end;
+    }
+
+    private static boolean isHangul(char c) {
+        return (c >= '가' && c <= '힣') || (c >= 'ᄀ' && c <= 'ᇿ') || (c >= '㄰' && c <= '㆏');
+    }
+}
@@ -0,0 +1,16 @@
+package com.td.dms.search;
+
+/**
+ * 게시글 변경 알림. 트랜잭션이 커밋된 뒤에 검색 색인에 반영됩니다.
+ *
+ * @param deleted true이면 색인에서 제거
+ */
+public record PostIndexEvent(Long postId, String title, String content, boolean deleted) {
+    public static PostIndexEvent saved(Long postId, String title, String content) {
+        return new PostIndexEvent(postId, title, content, false);
+    }
+
+    public static PostIndexEvent deleted(Long postId) {
+        return new PostIndexEvent(postId, null, null, true);
+    }
+}
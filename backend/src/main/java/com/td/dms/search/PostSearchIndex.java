@@ -0,0 +1,91 @@
+package com.td.dms.search;
+
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.td.dms.repository.PostRepository;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 게시글 제목/내용 검색 색인.
+ * 서비스 시작 시 전체 게시글로 한 번 구축하고, 이후에는 게시글 작성/수정/삭제가 커밋될 때마다 갱신합니다.
+ */
+@Component
+@Slf4j
+public class PostSearchIndex {
+    public static final String TITLE = "title";
+    public static final String CONTENT = "content";
+
+    // 제목 일치를 내용 일치보다 높게 평가
+    public static final Map<String, Double> TITLE_ONLY = Map.of(TITLE, 1.0);
+    public static final Map<String, Double> CONTENT_ONLY = Map.of(CONTENT, 1.0);
+    public static final Map<String, Double> ALL_FIELDS = Map.of(TITLE, 2.0, CONTENT, 1.0);
+
+    private static final int BATCH_SIZE = 500;
+
+    private final PostRepository postRepository;
+    private final InvertedIndex index;
+
+    private volatile boolean ready;
+
+    public PostSearchIndex(PostRepository postRepository, Analyzer analyzer) {
+        this.postRepository = postRepository;
+        this.index = new InvertedIndex(analyzer, TITLE, CONTENT);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void startBuild() {
+        Thread.ofVirtual().name("post-index-build").start(this::build);
+    }
+
+    void build() {
+        try {
+            Long lastId = 0L;
+            List<Object[]> rows;
+            do {
+                rows = postRepository.findIndexRows(lastId, PageRequest.ofSize(BATCH_SIZE));
+                for (Object[] row : rows) {
+                    lastId = (Long) row[0];
+                    index.indexIfAbsent(lastId, Map.of(TITLE, (String) row[1], CONTENT, (String) row[2]));
+                }
+            } while (rows.size() == BATCH_SIZE);
+            ready = true;
+            log.info("게시글 검색 색인 구축 완료: {}건", index.size());
+        } catch (RuntimeException e) {
+            log.error("게시글 검색 색인 구축 중 오류 발생: {}", e.getMessage());
+        } finally {
+            index.finishBuild();
+        }
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onPostChanged(PostIndexEvent event) {
+        if (event.deleted()) {
+            index.remove(event.postId());
+        } else {
+            index.index(event.postId(), Map.of(TITLE, event.title(), CONTENT, event.content()));
+        }
+    }
+
+    // 구축이 끝나기 전에는 false (호출 측에서 DB 검색으로 대체)
+    public boolean isReady() {
+        return ready;
+    }
+
+    public SearchResult search(String keyword, Map<String, Double> fieldBoosts, int offset, int limit) {
+        return index.search(keyword, fieldBoosts, id -> true, offset, limit);
+    }
+
+    // 이전 페이지의 마지막 결과(after) 다음부터 limit개 (커서 기반 페이지)
+    public SearchResult searchAfter(String keyword, Map<String, Double> fieldBoosts, SearchHit after, int limit) {
+        return index.searchAfter(keyword, fieldBoosts, id -> true, after, limit);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,132 @@
+package com.td.dms.search;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/**
+ * 제목 접두어 자동완성 사전.
+ * 제목의 각 단어 시작 위치부터 앞 몇 글자를 소문자로 바꾼 키를 정렬 맵에 넣어 두고, 검색할 때는 접두어 범위만 잘라 읽습니다.
+ * 소유자별로 사전을 나누어 다른 사용자의 항목은 읽지 않으며, 읽기는 잠금 없이 수행됩니다.
+ * 예) "2024 회의록" → "2024 회의록", "회의록"
+ */
+public class PrefixSuggester {
+    // 모든 사용자가 함께 보는 항목 (게시글)의 소유자 id
+    public static final long SHARED = 0L;
+
+    // 키에 담는 최대 글자 수 (이보다 긴 접두어는 제목과 다시 비교)
+    private static final int MAX_KEY_LENGTH = 24;
+    // 제목 하나에서 키로 만드는 최대 단어 수
+    private static final int MAX_WORDS = 8;
+    // 키 끝에 붙는 구분자. 어떤 글자보다 앞에 정렬되어 짧은 제목이 먼저 나옴
+    private static final char SEPARATOR = '\0';
+
+    // 소유자 id -> (키 -> 항목 id)
+    private final Map<Long, NavigableMap<String, Long>> dictionaries = new ConcurrentHashMap<>();
+    // 항목 id -> 항목 (삭제와 결과 표시에 사용)
+    private final Map<Long, Entry> entries = new ConcurrentHashMap<>();
+    // 초기 구축 중 삭제된 항목 (구축이 삭제 전에 읽은 행으로 되살리지 않도록, 구축이 끝나면 비움)
+    private final Set<Long> removedDuringBuild = new HashSet<>();
+    private boolean building = true;
+
+    // 항목을 추가하거나 제목/소유자를 바꿈
+    public synchronized void put(long id, long ownerId, String title) {
+        removeEntry(id);
+        String normalized = normalize(title);
+        List<String> keys = keys(id, normalized);
+        NavigableMap<String, Long> dictionary = dictionaries.computeIfAbsent(ownerId,
+                key -> new ConcurrentSkipListMap<>());
+        for (String key : keys) {
+            dictionary.put(key, id);
+        }
+        entries.put(id, new Entry(ownerId, title, keys.toArray(String[]::new)));
+    }
+
+    // 아직 없는 항목만 추가 (초기 구축 중 이미 반영된 변경을 덮어쓰지 않도록)
+    public synchronized void putIfAbsent(long id, long ownerId, String title) {
+        if (!entries.containsKey(id) && !removedDuringBuild.contains(id)) {
+            put(id, ownerId, title);
+        }
+    }
+
+    public synchronized void remove(long id) {
+        if (building) {
+            removedDuringBuild.add(id);
+        }
+        removeEntry(id);
+    }
+
+    // 초기 구축이 끝나면(실패 포함) 호출
+    public synchronized void finishBuild() {
+        building = false;
+        removedDuringBuild.clear();
+    }
+
+    private void removeEntry(long id) {
+        Entry entry = entries.remove(id);
+        if (entry == null) {
+            return;
+        }
+        NavigableMap<String, Long> dictionary = dictionaries.get(entry.ownerId());
+        for (String key : entry.keys()) {
+            dictionary.remove(key);
+        }
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    // 접두어로 시작하는 단어가 있는 항목을 최대 limit개 반환
+    public List<Suggestion> suggest(long ownerId, String prefix, int limit) {
+        NavigableMap<String, Long> dictionary = dictionaries.get(ownerId);
+        String normalized = normalize(prefix);
+        if (dictionary == null || normalized.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+        String from = normalized.length() > MAX_KEY_LENGTH ? normalized.substring(0, MAX_KEY_LENGTH) : normalized;
+        boolean verify = from.length() < normalized.length();
+
+        Set<Long> ids = new LinkedHashSet<>();
+        List<Suggestion> suggestions = new ArrayList<>(limit);
+        for (Long id : dictionary.subMap(from, true, from + Character.MAX_VALUE, true).values()) {
+            Entry entry = entries.get(id);
+            if (entry == null || (verify && !normalize(entry.title()).contains(normalized)) || !ids.add(id)) {
+                continue;
+            }
+            suggestions.add(new Suggestion(id, entry.title()));
+            if (suggestions.size() >= limit) {
+                break;
+            }
+        }
+        return suggestions;
+    }
+
+    private static List<String> keys(long id, String normalized) {
+        List<String> keys = new ArrayList<>();
+        String suffix = SEPARATOR + Long.toString(id);
+        int length = normalized.length();
+        for (int i = 0; i < length && keys.size() < MAX_WORDS; i++) {
+            boolean wordStart = Character.isLetterOrDigit(normalized.charAt(i))
+                    && (i == 0 || !Character.isLetterOrDigit(normalized.charAt(i - 1)));
+            if (wordStart) {
+                keys.add(normalized.substring(i, Math.min(length, i + MAX_KEY_LENGTH)) + suffix);
+            }
+        }
+        return keys;
+    }
+
+    private static String normalize(String text) {
+        return text == null ? "" : text.strip().toLowerCase(Locale.ROOT);
+    }
+
+    private record Entry(long ownerId, String title, String[] keys) {
+    }
+}
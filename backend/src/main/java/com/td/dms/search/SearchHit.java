@@ -0,0 +1,5 @@
+package com.td.dms.search;
+
+// 검색 결과 한 건 (문서 id와 BM25 점수)
+public record SearchHit(long id, double score) {
+}
@@ -0,0 +1,14 @@
+package com.td.dms.search;
+
+import java.util.List;
+
+/**
+ * 점수 순으로 정렬된 검색 결과 중 요청한 페이지 부분
+ *
+ * @param total 전체 일치 건수
+ */
+public record SearchResult(long total, List<SearchHit> hits) {
+    public static SearchResult empty() {
+        return new SearchResult(0, List.of());
+    }
+}
@@ -0,0 +1,28 @@
+package com.td.dms.search;
+
+import java.util.function.Consumer;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+// 글자와 숫자가 아닌 문자를 기준으로 나누고 소문자로 바꾸는 기본 분석기 (dms.search.analyzer=standard)
+@Component
+@ConditionalOnProperty(name = "dms.search.analyzer", havingValue = "standard")
+public class StandardAnalyzer implements Analyzer {
+    @Override
+    public void analyze(String text, Consumer<String> consumer) {
+        if (text == null) {
+            return;
+        }
+        int start = -1;
+        for (int i = 0; i <= text.length(); i++) {
+            boolean wordChar = i < text.length() && Character.isLetterOrDigit(text.charAt(i));
+            if (wordChar && start < 0) {
+                start = i;
+            } else if (!wordChar && start >= 0) {
+                consumer.accept(text.substring(start, i).toLowerCase());
+                start = -1;
+            }
+        }
+    }
+}
@@ -0,0 +1,122 @@
+package com.td.dms.search;
+
+import java.util.List;
+
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.td.dms.repository.DocumentRepository;
+import com.td.dms.repository.FolderRepository;
+import com.td.dms.repository.PostRepository;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 문서 제목, 게시글 제목, 폴더 이름 자동완성 사전.
+ * 검색 색인과 마찬가지로 시작 시 한 번 구축하고, 이후에는 각 서비스가 발행하는 변경 알림이 커밋될 때마다 갱신합니다.
+ * 문서와 폴더는 작성자별로, 게시글은 모든 사용자가 함께 봅니다.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class SuggestIndex {
+    private static final int BATCH_SIZE = 1000;
+
+    private final DocumentRepository documentRepository;
+    private final PostRepository postRepository;
+    private final FolderRepository folderRepository;
+
+    private final PrefixSuggester documents = new PrefixSuggester();
+    private final PrefixSuggester posts = new PrefixSuggester();
+    private final PrefixSuggester folders = new PrefixSuggester();
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void startBuild() {
+        Thread.ofVirtual().name("suggest-index-build").start(this::build);
+    }
+
+    void build() {
+        try {
+            Long lastId = 0L;
+            List<Object[]> rows;
+            do {
+                rows = documentRepository.findTitleRows(lastId, PageRequest.ofSize(BATCH_SIZE));
+                for (Object[] row : rows) {
+                    lastId = (Long) row[0];
+                    documents.putIfAbsent(lastId, (Long) row[2], (String) row[1]);
+                }
+            } while (rows.size() == BATCH_SIZE);
+
+            lastId = 0L;
+            do {
+                rows = postRepository.findTitleRows(lastId, PageRequest.ofSize(BATCH_SIZE));
+                for (Object[] row : rows) {
+                    lastId = (Long) row[0];
+                    posts.putIfAbsent(lastId, PrefixSuggester.SHARED, (String) row[1]);
+                }
+            } while (rows.size() == BATCH_SIZE);
+
+            lastId = 0L;
+            do {
+                rows = folderRepository.findNameRows(lastId, PageRequest.ofSize(BATCH_SIZE));
+                for (Object[] row : rows) {
+                    lastId = (Long) row[0];
+                    folders.putIfAbsent(lastId, (Long) row[2], (String) row[1]);
+                }
+            } while (rows.size() == BATCH_SIZE);
+
+            log.info("자동완성 사전 구축 완료: 문서 {}건, 게시글 {}건, 폴더 {}건", documents.size(), posts.size(),
+                    folders.size());
+        } catch (RuntimeException e) {
+            log.error("자동완성 사전 구축 중 오류 발생: {}", e.getMessage());
+        } finally {
+            documents.finishBuild();
+            posts.finishBuild();
+            folders.finishBuild();
+        }
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onDocumentChanged(DocumentIndexEvent event) {
+        if (event.deleted()) {
+            documents.remove(event.documentId());
+        } else {
+            documents.put(event.documentId(), event.ownerId(), event.title());
+        }
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onPostChanged(PostIndexEvent event) {
+        if (event.deleted()) {
+            posts.remove(event.postId());
+        } else {
+            posts.put(event.postId(), PrefixSuggester.SHARED, event.title());
+        }
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onFolderChanged(FolderIndexEvent event) {
+        if (event.deleted()) {
+            folders.remove(event.folderId());
+        } else {
+            folders.put(event.folderId(), event.ownerId(), event.name());
+        }
+    }
+
+    public List<Suggestion> suggestDocuments(Long ownerId, String prefix, int limit) {
+        return documents.suggest(ownerId, prefix, limit);
+    }
+
+    public List<Suggestion> suggestPosts(String prefix, int limit) {
+        return posts.suggest(PrefixSuggester.SHARED, prefix, limit);
+    }
+
+    public List<Suggestion> suggestFolders(Long ownerId, String prefix, int limit) {
+        return folders.suggest(ownerId, prefix, limit);
+    }
+}
@@ -0,0 +1,5 @@
+package com.td.dms.search;
+
+// 자동완성 결과 한 건 (항목 id와 원래 제목)
+public record Suggestion(long id, String title) {
+}
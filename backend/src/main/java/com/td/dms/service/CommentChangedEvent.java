@@ -0,0 +1,26 @@
+package com.td.dms.service;
+
+import com.td.dms.dto.CommentResponse;
+
+/**
+ * 댓글 변경 알림. 트랜잭션이 커밋된 뒤에 최근 댓글 캐시에 반영됩니다.
+ *
+ * @param comment 변경된 댓글 (삭제된 경우 null)
+ */
+public record CommentChangedEvent(Long postId, Long commentId, CommentResponse comment, Type type) {
+    public enum Type {
+        CREATED, UPDATED, DELETED
+    }
+
+    public static CommentChangedEvent created(CommentResponse comment) {
+        return new CommentChangedEvent(comment.getPostId(), comment.getId(), comment, Type.CREATED);
+    }
+
+    public static CommentChangedEvent updated(CommentResponse comment) {
+        return new CommentChangedEvent(comment.getPostId(), comment.getId(), comment, Type.UPDATED);
+    }
+
+    public static CommentChangedEvent deleted(Long postId, Long commentId) {
+        return new CommentChangedEvent(postId, commentId, null, Type.DELETED);
+    }
+}
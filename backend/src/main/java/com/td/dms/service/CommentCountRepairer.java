@@ -0,0 +1,50 @@
+package com.td.dms.service;
+
+import java.util.List;
+
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.td.dms.repository.PostRepository;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Post.commentCount 보정.
+ * 저장된 댓글 수와 실제 댓글 수를 id 순으로 나누어 비교하고, 어긋난 게시글만 DB에서 다시 세어 고칩니다.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class CommentCountRepairer {
+    private static final int BATCH_SIZE = 500;
+
+    private final PostRepository postRepository;
+
+    @Scheduled(cron = "${dms.comments.count-repair-cron:0 30 4 * * *}")
+    public void repair() {
+        try {
+            int repaired = 0;
+            Long lastId = 0L;
+            List<Object[]> rows;
+            do {
+                rows = postRepository.findCommentCountRows(lastId, PageRequest.ofSize(BATCH_SIZE));
+                for (Object[] row : rows) {
+                    lastId = (Long) row[0];
+                    if (((Integer) row[1]).longValue() != (Long) row[2]) {
+                        // 비교 후 새 댓글이 달렸을 수 있으므로 읽은 값이 아니라 UPDATE 안에서 다시 셈
+                        repaired += postRepository.recountComments(lastId);
+                    }
+                }
+            } while (rows.size() == BATCH_SIZE);
+
+            if (repaired > 0) {
+                log.warn("댓글 수가 어긋난 게시글 {}개 보정", repaired);
+            }
+        } catch (RuntimeException e) {
+            log.error("댓글 수 보정 중 오류 발생: {}", e.getMessage());
+        }
+    }
+}
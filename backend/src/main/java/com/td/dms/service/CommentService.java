@@ -6,10 +6,14 @@ import com.td.dms.repository.PostRepository;
 import com.td.dms.repository.UserRepository;
 import com.td.dms.dto.CommentRequest;
 import com.td.dms.dto.CommentResponse;
+import com.td.dms.dto.CursorPage;
 import com.td.dms.entity.Comment;
 import com.td.dms.entity.Post;
 import com.td.dms.entity.User;
+import com.td.dms.util.CursorUtil;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
@@ -22,15 +26,25 @@ public class CommentService {
     private final CommentRepository commentRepository;
     private final PostRepository postRepository;
     private final UserRepository userRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
+    // 이전 목록 API: 작성 순으로 첫 CursorUtil.MAX_SIZE개만 반환하며, 그 이후는 커서 목록으로 조회
     public List<CommentResponse> getCommentsByPost(Long postId) {
+        return getCommentsByCursor(postId, null, CursorUtil.MAX_SIZE, false).items();
+    }
+
+    // 커서 기반 댓글 목록 (작성 순). 전체 건수는 게시글에 저장된 댓글 수를 사용
+    public CursorPage<CommentResponse> getCommentsByCursor(Long postId, String cursor, int size, boolean withTotal) {
         Post post = postRepository.findById(postId)
                 .orElseThrow(() -> new RuntimeException("게시글을 찾을 수 없습니다."));
 
-        List<Comment> comments = commentRepository.findByPost(post);
-        return comments.stream()
-                .map(this::convertToResponse)
-                .collect(Collectors.toList());
+        CursorUtil.Position position = CursorUtil.decode(cursor, CursorUtil.OLDEST);
+        int limit = CursorUtil.size(size);
+        List<Comment> comments = commentRepository.findPageAfter(postId, position.createdAt(), position.id(),
+                PageRequest.ofSize(limit + 1));
+        return CursorUtil.page(comments, limit, comment -> CursorUtil.encode(comment.getCreatedAt(), comment.getId()),
+                page -> page.stream().map(this::convertToResponse).collect(Collectors.toList()),
+                withTotal ? (long) post.getCommentCount() : null);
     }
 
     @Transactional
@@ -46,7 +60,10 @@ public class CommentService {
         comment.setPost(post);
         comment.setAuthor(user);
 
-        return convertToResponse(commentRepository.save(comment));
+        CommentResponse response = convertToResponse(commentRepository.save(comment));
+        postRepository.adjustCommentCount(post.getId(), 1);
+        eventPublisher.publishEvent(CommentChangedEvent.created(response));
+        return response;
     }
 
     @Transactional
@@ -59,7 +76,9 @@ public class CommentService {
         }
 
         comment.setContent(request.getContent());
-        return convertToResponse(commentRepository.save(comment));
+        CommentResponse response = convertToResponse(commentRepository.save(comment));
+        eventPublisher.publishEvent(CommentChangedEvent.updated(response));
+        return response;
     }
 
     @Transactional
@@ -72,13 +91,17 @@ public class CommentService {
         }
 
         commentRepository.delete(comment);
+        postRepository.adjustCommentCount(comment.getPost().getId(), -1);
+        eventPublisher.publishEvent(CommentChangedEvent.deleted(comment.getPost().getId(), id));
     }
 
+    // 최근 댓글 count개만 조회 (개수 제한을 쿼리에서 적용)
     public List<CommentResponse> getRecentComments(Long postId, int count) {
-        Post post = postRepository.findById(postId)
-                .orElseThrow(() -> new RuntimeException("게시글을 찾을 수 없습니다."));
+        if (!postRepository.existsById(postId)) {
+            throw new RuntimeException("게시글을 찾을 수 없습니다.");
+        }
 
-        return commentRepository.findByPostOrderByCreatedAtDesc(post)
+        return commentRepository.findByPostIdOrderByCreatedAtDescIdDesc(postId, PageRequest.ofSize(count))
                 .stream()
                 .map(this::convertToResponse)
                 .collect(Collectors.toList());
@@ -94,7 +117,7 @@ public class CommentService {
         Post post = postRepository.findById(postId)
                 .orElseThrow(() -> new RuntimeException("게시글을 찾을 수 없습니다."));
 
-        return commentRepository.countByPost(post);
+        return post.getCommentCount();
     }
 
     private CommentResponse convertToResponse(Comment comment) {
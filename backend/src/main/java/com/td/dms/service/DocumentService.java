@@ -1,13 +1,27 @@
 package com.td.dms.service;
 
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 import java.io.IOException;
+import java.io.OutputStream;
 import java.time.LocalDateTime;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.td.dms.entity.Document;
 import com.td.dms.entity.User;
 import com.td.dms.entity.FileEntity;
@@ -15,7 +29,16 @@ import com.td.dms.entity.Folder;
 import com.td.dms.repository.DocumentRepository;
 import com.td.dms.repository.UserRepository;
 import com.td.dms.repository.FolderRepository;
+import com.td.dms.dto.CursorPage;
 import com.td.dms.dto.DocumentRequest;
+import com.td.dms.dto.DocumentSummaryResponse;
+import com.td.dms.dto.DocumentSearchResponse;
+import com.td.dms.search.DocumentIndexEvent;
+import com.td.dms.search.DocumentSearchIndex;
+import com.td.dms.search.Highlighter;
+import com.td.dms.search.SearchHit;
+import com.td.dms.search.SearchResult;
+import com.td.dms.util.CursorUtil;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
@@ -23,13 +46,33 @@ import lombok.extern.slf4j.Slf4j;
 @RequiredArgsConstructor
 @Slf4j
 public class DocumentService {
+    private static final int SNIPPET_LENGTH = 120;
+    private static final int BATCH_SIZE = 500;
+
     private final DocumentRepository documentRepository;
     private final UserRepository userRepository;
     private final FolderRepository folderRepository;
     private final FileService fileService;
+    private final TransactionTemplate transactionTemplate;
+    private final DocumentSearchIndex documentSearchIndex;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ObjectMapper objectMapper;
 
-    @Transactional
+    /**
+     * 첨부파일은 트랜잭션 밖에서 먼저 저장하고(1단계), 문서와 파일 메타데이터는
+     * 짧은 트랜잭션 하나로 기록합니다(2단계). 느린 업로드가 DB 커넥션을 붙잡지 않습니다.
+     */
     public Document createDocument(DocumentRequest request, List<MultipartFile> files, String username) {
+        List<StagedFile> stagedFiles = stageFiles(files);
+        try {
+            return transactionTemplate.execute(status -> saveNewDocument(request, stagedFiles, username));
+        } catch (RuntimeException e) {
+            fileService.discardStaged(stagedFiles);
+            throw e;
+        }
+    }
+
+    private Document saveNewDocument(DocumentRequest request, List<StagedFile> stagedFiles, String username) {
         User user = userRepository.findByUsername(username)
                 .orElseThrow(() -> new RuntimeException("사용자를 찾을 수 없습니다."));
 
@@ -43,35 +86,39 @@ public class DocumentService {
         if (request.getFolderId() != null) {
             Folder folder = folderRepository.findByIdAndCreatedBy(request.getFolderId(), user)
                     .orElseThrow(() -> new RuntimeException("폴더를 찾을 수 없습니다."));
-            document.setFolder(folder);
+            moveToFolder(document, folder);
         }
 
         document = documentRepository.save(document);
 
         // 파일 처리
-        if (files != null && !files.isEmpty()) {
-            for (MultipartFile file : files) {
-                try {
-                    FileEntity fileEntity = fileService.uploadFile(file, username, document);
-                    document.addFile(fileEntity);
-                } catch (IOException e) {
-                    log.error("파일 업로드 중 오류 발생: {}", e.getMessage());
-                    throw new RuntimeException("파일 업로드 중 오류가 발생했습니다: " + e.getMessage());
-                }
-            }
+        for (FileEntity fileEntity : fileService.attachStaged(stagedFiles, user, document)) {
+            document.addFile(fileEntity);
         }
-        return documentRepository.save(document);
+        document = documentRepository.save(document);
+        eventPublisher.publishEvent(indexEvent(document));
+        return document;
     }
 
-    @Transactional
     public Document updateDocument(Long id, DocumentRequest request, List<MultipartFile> files, String username) {
+        List<StagedFile> stagedFiles = stageFiles(files);
+        try {
+            return transactionTemplate.execute(status -> saveDocumentUpdate(id, request, stagedFiles, username));
+        } catch (RuntimeException e) {
+            fileService.discardStaged(stagedFiles);
+            throw e;
+        }
+    }
+
+    private Document saveDocumentUpdate(Long id, DocumentRequest request, List<StagedFile> stagedFiles,
+            String username) {
         User user = userRepository.findByUsername(username)
                 .orElseThrow(() -> new RuntimeException("사용자를 찾을 수 없습니다."));
 
-        Document document = documentRepository.findById(id)
+        Document document = documentRepository.findDetailById(id)
                 .orElseThrow(() -> new RuntimeException("문서를 찾을 수 없습니다."));
 
-        if (!document.getCreatedBy().equals(user)) {
+        if (!document.getCreatedBy().getId().equals(user.getId())) {
             throw new RuntimeException("문서 수정 권한이 없습니다.");
         }
 
@@ -84,45 +131,124 @@ public class DocumentService {
         if (request.getFolderId() != null) {
             Folder newFolder = folderRepository.findByIdAndCreatedBy(request.getFolderId(), user)
                     .orElseThrow(() -> new RuntimeException("폴더를 찾을 수 없습니다."));
-            document.setFolder(newFolder);
+            moveToFolder(document, newFolder);
         } else {
-            document.setFolder(null);
+            moveToFolder(document, null);
         }
         // 파일 처리
-        handleFileUpdates(document, files, remainingFileIds, username);
-        return documentRepository.save(document);
+        handleFileUpdates(document, stagedFiles, remainingFileIds, user);
+        document = documentRepository.save(document);
+        eventPublisher.publishEvent(indexEvent(document));
+        return document;
+    }
+
+    // 문서의 폴더를 바꾸고 이전/새 폴더의 문서 수를 같은 트랜잭션에서 증감
+    private void moveToFolder(Document document, Folder folder) {
+        Folder oldFolder = document.getFolder();
+        Long oldFolderId = oldFolder != null ? oldFolder.getId() : null;
+        Long newFolderId = folder != null ? folder.getId() : null;
+        document.setFolder(folder);
+        if (Objects.equals(oldFolderId, newFolderId)) {
+            return;
+        }
+        if (oldFolderId != null) {
+            folderRepository.adjustDocumentCount(oldFolderId, -1);
+        }
+        if (newFolderId != null) {
+            folderRepository.adjustDocumentCount(newFolderId, 1);
+        }
+    }
+
+    // 첨부파일 본문 추출이 끝난 문서를 검색 색인에 다시 반영 (호출한 트랜잭션이 커밋된 뒤 적용)
+    @Transactional
+    public void reindexDocument(Long id) {
+        documentRepository.findById(id).ifPresent(document -> eventPublisher.publishEvent(indexEvent(document)));
+    }
+
+    private DocumentIndexEvent indexEvent(Document document) {
+        return DocumentIndexEvent.saved(document.getId(), document.getCreatedBy().getId(), document.getTitle(),
+                document.getContent(), documentSearchIndex.attachmentText(document.getId()));
+    }
+
+    // 1단계: 트랜잭션 밖에서 첨부파일 저장
+    private List<StagedFile> stageFiles(List<MultipartFile> files) {
+        try {
+            return fileService.stageFiles(files);
+        } catch (IOException e) {
+            log.error("파일 업로드 중 오류 발생: {}", e.getMessage());
+            throw new RuntimeException("파일 업로드 중 오류가 발생했습니다: " + e.getMessage());
+        }
+    }
+
+    // 이전 목록 API: 커서 목록의 첫 페이지(최대 CursorUtil.MAX_SIZE개)만 반환하며, 그 이후는 커서 목록으로 조회
+    @Transactional(readOnly = true)
+    public List<DocumentSummaryResponse> getDocumentsByFolder(Long folderId, String username) {
+        return getDocumentsByFolder(folderId, username, null, CursorUtil.MAX_SIZE, false).items();
     }
 
     @Transactional(readOnly = true)
-    public List<Document> getDocumentsByFolder(Long folderId, String username) {
+    public List<DocumentSummaryResponse> getStarredDocuments(String username) {
+        return getStarredDocuments(username, null, CursorUtil.MAX_SIZE, false).items();
+    }
+
+    @Transactional(readOnly = true)
+    public List<DocumentSummaryResponse> getRecentDocuments(String username) {
+        return getRecentDocuments(username, null, CursorUtil.MAX_SIZE, false).items();
+    }
+
+    // 커서 기반 목록 (최신 순). 전체 건수는 요청한 경우에만 셈
+    @Transactional(readOnly = true)
+    public CursorPage<DocumentSummaryResponse> getDocumentsByFolder(Long folderId, String username, String cursor, int size,
+            boolean withTotal) {
         User user = userRepository.findByUsername(username)
                 .orElseThrow(() -> new RuntimeException("사용자를 찾을 수 없습니다."));
 
         Folder folder = folderRepository.findByIdAndCreatedBy(folderId, user)
                 .orElseThrow(() -> new RuntimeException("폴더를 찾을 수 없습니다."));
 
-        return documentRepository.findByFolderAndCreatedBy(folder, user);
+        CursorUtil.Position position = CursorUtil.decode(cursor, CursorUtil.NEWEST);
+        int limit = CursorUtil.size(size);
+        return toCursorPage(documentRepository.findFolderPageAfter(user, folder, position.createdAt(), position.id(),
+                PageRequest.ofSize(limit + 1)), limit,
+                withTotal ? documentRepository.countByFolderAndCreatedBy(folder, user) : null);
     }
 
     @Transactional(readOnly = true)
-    public List<Document> getStarredDocuments(String username) {
+    public CursorPage<DocumentSummaryResponse> getStarredDocuments(String username, String cursor, int size,
+            boolean withTotal) {
         User user = userRepository.findByUsername(username)
                 .orElseThrow(() -> new RuntimeException("사용자를 찾을 수 없습니다."));
 
-        return documentRepository.findByIsStarredTrueAndCreatedBy(user);
+        CursorUtil.Position position = CursorUtil.decode(cursor, CursorUtil.NEWEST);
+        int limit = CursorUtil.size(size);
+        return toCursorPage(documentRepository.findStarredPageAfter(user, position.createdAt(), position.id(),
+                PageRequest.ofSize(limit + 1)), limit,
+                withTotal ? documentRepository.countByIsStarredTrueAndCreatedBy(user) : null);
     }
 
+    // 기준 시각(최근 30일)은 첫 페이지를 요청할 때가 아니라 매 요청마다 계산
     @Transactional(readOnly = true)
-    public List<Document> getRecentDocuments(String username) {
+    public CursorPage<DocumentSummaryResponse> getRecentDocuments(String username, String cursor, int size,
+            boolean withTotal) {
         User user = userRepository.findByUsername(username)
                 .orElseThrow(() -> new RuntimeException("사용자를 찾을 수 없습니다."));
 
         LocalDateTime thirtyDaysAgo = LocalDateTime.now().minusDays(30);
-        return documentRepository.findByCreatedByAndCreatedAtAfterOrderByCreatedAtDesc(user, thirtyDaysAgo);
+        CursorUtil.Position position = CursorUtil.decode(cursor, CursorUtil.NEWEST);
+        int limit = CursorUtil.size(size);
+        return toCursorPage(documentRepository.findRecentPageAfter(user, thirtyDaysAgo, position.createdAt(),
+                position.id(), PageRequest.ofSize(limit + 1)), limit,
+                withTotal ? documentRepository.countByCreatedByAndCreatedAtAfter(user, thirtyDaysAgo) : null);
     }
 
-    private void handleFileUpdates(Document document, List<MultipartFile> newFiles, List<Long> remainingFileIds,
-            String username) {
+    private CursorPage<DocumentSummaryResponse> toCursorPage(List<DocumentSummaryResponse> documents, int limit,
+            Long total) {
+        return CursorUtil.page(documents, limit, document -> CursorUtil.encode(document.createdAt(), document.id()),
+                Function.identity(), total);
+    }
+
+    private void handleFileUpdates(Document document, List<StagedFile> newFiles, List<Long> remainingFileIds,
+            User user) {
         // 삭제된 파일 처리
         document.getFiles().removeIf(file -> {
             if (remainingFileIds != null && remainingFileIds.contains(file.getId())) {
@@ -133,28 +259,20 @@ public class DocumentService {
         });
 
         // 새 파일 추가
-        if (newFiles != null && !newFiles.isEmpty()) {
-            for (MultipartFile file : newFiles) {
-                try {
-                    FileEntity fileEntity = fileService.uploadFile(file, username, document);
-                    document.addFile(fileEntity);
-                } catch (IOException e) {
-                    log.error("파일 업로드 중 오류 발생: {}", e.getMessage());
-                    throw new RuntimeException("파일 업로드 중 오류가 발생했습니다: " + e.getMessage());
-                }
-            }
+        for (FileEntity fileEntity : fileService.attachStaged(newFiles, user, document)) {
+            document.addFile(fileEntity);
         }
     }
 
     @Transactional(readOnly = true)
     public Document getDocumentById(Long id) {
-        return documentRepository.findById(id)
+        return documentRepository.findDetailById(id)
                 .orElseThrow(() -> new RuntimeException("문서를 찾을 수 없음"));
     }
 
     @Transactional
     public void deleteDocument(Long id) {
-        Document document = documentRepository.findById(id)
+        Document document = documentRepository.findDetailById(id)
                 .orElseThrow(() -> new RuntimeException("문서를 찾을 수 없음"));
 
         for (FileEntity file : document.getFiles()) {
@@ -162,9 +280,97 @@ public class DocumentService {
         }
 
         documentRepository.delete(document);
+        if (document.getFolder() != null) {
+            folderRepository.adjustDocumentCount(document.getFolder().getId(), -1);
+        }
+        eventPublisher.publishEvent(DocumentIndexEvent.deleted(id));
+    }
+
+    /**
+     * 사용자 본인 문서를 제목/내용/첨부파일에서 관련도 순으로 검색하고, 해당 페이지의 문서만 조회해
+     * 검색어를 강조한 미리보기와 함께 반환합니다. 색인이 아직 구축 중이면 제목/내용 LIKE 검색으로 대체합니다.
+     */
+    @Transactional(readOnly = true)
+    public Page<DocumentSearchResponse> searchDocuments(String keyword, String username, Pageable pageable) {
+        User user = userRepository.findByUsername(username)
+                .orElseThrow(() -> new RuntimeException("사용자를 찾을 수 없습니다."));
+        Set<String> terms = documentSearchIndex.queryTerms(keyword);
+
+        if (!documentSearchIndex.isReady()) {
+            return documentRepository.searchByCreatedBy(user, keyword, pageable)
+                    .map(document -> toSearchResponse(document, 0, terms));
+        }
+
+        SearchResult result = documentSearchIndex.search(keyword, user.getId(),
+                (int) pageable.getOffset(), pageable.getPageSize());
+        List<Long> ids = result.hits().stream().map(SearchHit::id).toList();
+        Map<Long, Document> documentsById = documentRepository.findSearchResultByIdIn(ids).stream()
+                .collect(Collectors.toMap(Document::getId, Function.identity()));
+
+        List<DocumentSearchResponse> content = result.hits().stream()
+                .filter(hit -> documentsById.containsKey(hit.id()))
+                .map(hit -> toSearchResponse(documentsById.get(hit.id()), hit.score(), terms))
+                .toList();
+        return new PageImpl<>(content, pageable, result.total());
     }
 
-    public List<Document> getAllDocuments() {
-        return documentRepository.findAll();
+    private DocumentSearchResponse toSearchResponse(Document document, double score, Set<String> terms) {
+        // 내용에서 먼저 찾고, 없으면 첨부파일 이름에서 미리보기를 만듦
+        String snippet = Highlighter.snippet(document.getContent(), terms, SNIPPET_LENGTH);
+        if (snippet == null) {
+            snippet = document.getFiles().stream()
+                    .map(file -> Highlighter.snippet(file.getOriginalFileName(), terms, SNIPPET_LENGTH))
+                    .filter(Objects::nonNull)
+                    .findFirst()
+                    .orElse(null);
+        }
+        return DocumentSearchResponse.builder()
+                .id(document.getId())
+                .title(document.getTitle())
+                .folderId(document.getFolder() != null ? document.getFolder().getId().toString() : null)
+                .isStarred(document.getIsStarred())
+                .createdAt(document.getCreatedAt())
+                .updatedAt(document.getUpdatedAt())
+                .score(score)
+                .highlightedTitle(Highlighter.snippet(document.getTitle(), terms, document.getTitle().length()))
+                .snippet(snippet)
+                .build();
+    }
+
+    /**
+     * 전체 문서 목록을 id 순으로 BATCH_SIZE건씩 조회하면서 응답에 바로 씁니다.
+     * 조회 결과는 엔티티가 아닌 요약 레코드라 영속성 컨텍스트에 쌓이지 않으므로,
+     * 문서 수와 관계없이 한 번에 한 묶음만 메모리에 둡니다.
+     *
+     * @param ndjson true면 한 줄에 문서 하나씩 (application/x-ndjson), false면 JSON 배열
+     */
+    public void writeAllDocuments(OutputStream outputStream, boolean ndjson) throws IOException {
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(outputStream)) {
+            // 응답 스트림은 서블릿 컨테이너가 닫음
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            if (ndjson) {
+                generator.setRootValueSeparator(null);
+            } else {
+                generator.writeStartArray();
+            }
+
+            Long lastId = 0L;
+            List<DocumentSummaryResponse> batch;
+            do {
+                batch = documentRepository.findSummariesAfter(lastId, PageRequest.ofSize(BATCH_SIZE));
+                for (DocumentSummaryResponse document : batch) {
+                    generator.writeObject(document);
+                    if (ndjson) {
+                        generator.writeRaw('\n');
+                    }
+                    lastId = document.id();
+                }
+                generator.flush();
+            } while (batch.size() == BATCH_SIZE);
+
+            if (!ndjson) {
+                generator.writeEndArray();
+            }
+        }
     }
 }
@@ -1,29 +1,63 @@
 package com.td.dms.service;
 
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.UUID;
-import java.nio.file.StandardCopyOption;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Collectors;
 import java.util.Optional;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.zip.CRC32;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
 
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.util.StringUtils;
 import org.springframework.web.multipart.MultipartFile;
 import jakarta.servlet.MultipartConfigElement;
 
+import com.td.dms.entity.FileBlob;
 import com.td.dms.entity.FileEntity;
+import com.td.dms.entity.FileTombstone;
+import com.td.dms.entity.StorageCompression;
+import com.td.dms.entity.TextExtractionStatus;
+import com.td.dms.entity.User;
+import com.td.dms.repository.DocumentRepository;
+import com.td.dms.repository.FileBlobRepository;
 import com.td.dms.repository.FileRepository;
+import com.td.dms.repository.FileTextRepository;
+import com.td.dms.repository.FileTombstoneRepository;
+import com.td.dms.repository.PostRepository;
 import com.td.dms.repository.UserRepository;
+import com.td.dms.storage.StorageBackend;
+import com.td.dms.util.FileSignatureUtil;
 
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.InputStreamResource;
 import org.springframework.core.io.Resource;
-import org.springframework.core.io.UrlResource;
 
-import java.net.MalformedURLException;
 import com.td.dms.dto.FileDownloadResponse;
+import com.td.dms.dto.FileUploadResponse;
 import lombok.extern.slf4j.Slf4j;
 import com.td.dms.entity.Document;
 import com.td.dms.entity.Post;
@@ -32,48 +66,455 @@ import com.td.dms.entity.Post;
 @RequiredArgsConstructor
 @Slf4j
 public class FileService {
-    private final String uploadDir = "uploads";
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    // 이전 버전에서 filePath에 저장하던 평면 경로의 접두어
+    public static final String LEGACY_PATH_PREFIX = "uploads";
+
     private final FileRepository fileRepository;
+    private final FileBlobRepository fileBlobRepository;
+    private final FileTombstoneRepository fileTombstoneRepository;
+    private final FileTextRepository fileTextRepository;
     private final UserRepository userRepository;
+    private final DocumentRepository documentRepository;
+    private final PostRepository postRepository;
     private final MultipartConfigElement multipartConfigElement;
+    private final StorageBackend storageBackend;
+    private final TransactionTemplate transactionTemplate;
 
-    public FileEntity uploadFile(MultipartFile file, String username, Post post) throws IOException {
-        FileEntity fileEntity = uploadFileCommon(file, username);
-        fileEntity.setPost(post);
-        return fileRepository.save(fileEntity);
-    }
+    // 압축본이 원본의 90%를 넘으면 압축하지 않고 저장
+    private static final double MAX_COMPRESSED_RATIO = 0.9;
+
+    @Value("${dms.storage.compression.enabled:true}")
+    private boolean compressionEnabled;
+
+    // 저장할 때 압축할 확장자 (텍스트가 많은 이전 Office 형식과 PDF)
+    @Value("${dms.storage.compression.extensions:.doc,.xls,.pdf}")
+    private String[] compressedExtensions;
 
-    public FileEntity uploadFile(MultipartFile file, String username, Document document) throws IOException {
-        FileEntity fileEntity = uploadFileCommon(file, username);
-        fileEntity.setDocument(document);
-        return fileRepository.save(fileEntity);
+    // 업로드 중인 임시 파일 위치 (저장소로 옮기기 전)
+    @Value("${dms.storage.staging-dir:uploads/.staging}")
+    private String stagingDir;
+
+    /**
+     * 1단계: 트랜잭션 밖에서 파일을 검증하고 저장소에 기록합니다.
+     * 파일이 여러 개면 가상 스레드로 동시에 처리하므로 전체 시간은 가장 큰 파일에 맞춰집니다.
+     * 하나라도 실패하면 나머지가 끝나길 기다려 기록한 파일을 정리하고 예외를 던집니다.
+     */
+    public List<StagedFile> stageFiles(List<MultipartFile> files) throws IOException {
+        if (files == null || files.isEmpty()) {
+            return List.of();
+        }
+        if (files.size() == 1) {
+            return List.of(stageFile(files.get(0)));
+        }
+
+        List<Future<StagedFile>> futures = new ArrayList<>();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (MultipartFile file : files) {
+                futures.add(executor.submit(() -> stageFile(file)));
+            }
+        }
+
+        List<StagedFile> stagedFiles = new ArrayList<>();
+        Throwable failure = null;
+        for (Future<StagedFile> future : futures) {
+            try {
+                stagedFiles.add(future.get());
+            } catch (ExecutionException e) {
+                if (failure == null) {
+                    failure = e.getCause();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                failure = e;
+            }
+        }
+        if (failure != null) {
+            discardStaged(stagedFiles);
+            if (failure instanceof IOException ioException) {
+                throw ioException;
+            }
+            if (failure instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new RuntimeException("파일 업로드 중 오류가 발생했습니다.", failure);
+        }
+        return stagedFiles;
     }
 
-    private FileEntity uploadFileCommon(MultipartFile file, String username) throws IOException {
+    public StagedFile stageFile(MultipartFile file) throws IOException {
         validateFile(file);
-        createUploadDirectoryIfNotExists();
+        try (InputStream inputStream = file.getInputStream()) {
+            return stageStream(inputStream, file.getOriginalFilename());
+        }
+    }
 
-        String originalFileName = Optional.ofNullable(file.getOriginalFilename())
-                .orElseThrow(() -> new RuntimeException("파일명이 없습니다."));
-        String cleanFileName = StringUtils.cleanPath(originalFileName);
-        String fileExtension = getFileExtension(cleanFileName);
-        String storedFileName = UUID.randomUUID().toString() + fileExtension;
+    // 2단계 (트랜잭션 안): 저장된 파일들을 게시글에 첨부 (메타데이터는 한 번에 배치 저장)
+    public List<FileEntity> attachStaged(List<StagedFile> stagedFiles, User uploader, Post post) {
+        List<FileEntity> fileEntities = createFileEntities(stagedFiles, uploader);
+        fileEntities.forEach(fileEntity -> fileEntity.setPost(post));
+        return fileRepository.saveAll(fileEntities);
+    }
 
-        Path targetLocation = Paths.get(uploadDir).resolve(storedFileName);
-        Files.copy(file.getInputStream(), targetLocation, StandardCopyOption.REPLACE_EXISTING);
+    // 2단계 (트랜잭션 안): 저장된 파일들을 문서에 첨부 (메타데이터는 한 번에 배치 저장)
+    public List<FileEntity> attachStaged(List<StagedFile> stagedFiles, User uploader, Document document) {
+        List<FileEntity> fileEntities = createFileEntities(stagedFiles, uploader);
+        fileEntities.forEach(fileEntity -> fileEntity.setDocument(document));
+        return fileRepository.saveAll(fileEntities);
+    }
 
-        FileEntity fileEntity = new FileEntity();
-        fileEntity.setOriginalFileName(originalFileName);
-        fileEntity.setStoredFileName(storedFileName);
-        fileEntity.setFileType(file.getContentType());
-        fileEntity.setFileSize(file.getSize());
-        fileEntity.setFilePath(targetLocation.toString());
-        fileEntity.setUploadedBy(userRepository.findByUsername(username)
-                .orElseThrow(() -> new RuntimeException("User not found")));
+    /**
+     * 메타데이터 커밋이 실패했을 때의 보상 처리.
+     * 이번에 새로 기록한 파일 중 blob 행이 생기지 않은 것만 저장소에서 지웁니다.
+     * (참조 수 0으로 남은 blob 행과 파일은 GC가 유예 시간 뒤 함께 정리)
+     */
+    public void discardStaged(List<StagedFile> stagedFiles) {
+        for (StagedFile stagedFile : stagedFiles) {
+            if (stagedFile.newlyStored() && !fileBlobRepository.existsById(stagedFile.checksum())) {
+                deletePhysicalFile(stagedFile.checksum());
+            }
+        }
+    }
+
+    // 요청 본문을 그대로 스트리밍하여 문서 또는 게시글에 첨부 (multipart 임시 파일을 거치지 않음)
+    public FileUploadResponse uploadStream(InputStream inputStream, long contentLength, String originalFileName,
+            String username, Long documentId, Long postId) throws IOException {
+        if (contentLength > multipartConfigElement.getMaxFileSize()) {
+            throw new RuntimeException(
+                    "파일 크기는 " + (multipartConfigElement.getMaxFileSize() / (1024 * 1024)) + "MB를 초과할 수 없습니다.");
+        }
+        validateTarget(documentId, postId);
+        StagedFile stagedFile = stageStream(inputStream, originalFileName);
+        return commitAttachment(stagedFile, username, documentId, postId);
+    }
+
+    // 청크 업로드로 조립이 끝난 파일을 첨부 (원본 파일은 저장소로 이동되거나 중복이면 삭제됨)
+    public FileUploadResponse uploadAssembledFile(Path source, String originalFileName, String username,
+            Long documentId, Long postId) throws IOException {
+        validateTarget(documentId, postId);
+        StagedFile stagedFile = stageLocalFile(source, originalFileName);
+        return commitAttachment(stagedFile, username, documentId, postId);
+    }
+
+    private void validateTarget(Long documentId, Long postId) {
+        if ((documentId == null) == (postId == null)) {
+            throw new RuntimeException("문서 또는 게시글 중 하나를 지정해야 합니다.");
+        }
+    }
+
+    private FileUploadResponse commitAttachment(StagedFile stagedFile, String username, Long documentId,
+            Long postId) {
+        try {
+            return transactionTemplate.execute(status -> attachTo(stagedFile, username, documentId, postId));
+        } catch (RuntimeException e) {
+            discardStaged(List.of(stagedFile));
+            throw e;
+        }
+    }
+
+    private FileUploadResponse attachTo(StagedFile stagedFile, String username, Long documentId, Long postId) {
+        User uploader = userRepository.findByUsername(username)
+                .orElseThrow(() -> new RuntimeException("User not found"));
+
+        FileEntity fileEntity;
+        if (documentId != null) {
+            Document document = documentRepository.findById(documentId)
+                    .orElseThrow(() -> new RuntimeException("문서를 찾을 수 없습니다."));
+            if (!document.getCreatedBy().getUsername().equals(username)) {
+                throw new RuntimeException("문서 수정 권한이 없습니다.");
+            }
+            fileEntity = attachStaged(List.of(stagedFile), uploader, document).get(0);
+            document.addFile(fileEntity);
+        } else {
+            Post post = postRepository.findById(postId)
+                    .orElseThrow(() -> new RuntimeException("게시글을 찾을 수 없습니다."));
+            if (!post.getAuthor().getUsername().equals(username)) {
+                throw new RuntimeException("게시글 수정 권한이 없습니다.");
+            }
+            fileEntity = attachStaged(List.of(stagedFile), uploader, post).get(0);
+            post.addFile(fileEntity);
+        }
+
+        return new FileUploadResponse(
+                fileEntity.getId(),
+                fileEntity.getOriginalFileName(),
+                fileEntity.getFileSize(),
+                fileEntity.getFileType());
+    }
+
+    /**
+     * 입력 스트림을 한 번만 읽으면서 저장, SHA-256 해시와 CRC-32, 크기 계산, 시그니처 검사를 동시에 수행합니다.
+     * 압축 대상 형식이면 같은 버퍼로 gzip 사본도 함께 기록하고, 검증이 끝나면 둘 중 하나만 저장소로 옮깁니다.
+     */
+    private StagedFile stageStream(InputStream inputStream, String originalFileName) throws IOException {
+        String fileExtension = validateFileName(originalFileName);
+
+        createStagingDirectoryIfNotExists();
+        Path tempLocation = Paths.get(stagingDir).resolve(UUID.randomUUID().toString() + ".part");
+        Path compressed = isCompressible(fileExtension) ? compressedSibling(tempLocation) : null;
+
+        try {
+            StreamDigest streamDigest;
+            try (OutputStream out = Files.newOutputStream(tempLocation, StandardOpenOption.CREATE_NEW);
+                    OutputStream gzipOut = openGzip(compressed)) {
+                streamDigest = copyAndDigest(inputStream, out, gzipOut);
+            }
+            return stage(tempLocation, compressed, originalFileName, fileExtension, streamDigest);
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(tempLocation);
+            if (compressed != null) {
+                Files.deleteIfExists(compressed);
+            }
+            throw e;
+        }
+    }
+
+    // 임시 디렉터리 안에 있는 파일을 한 번 읽어 검증한 뒤 복사 없이 저장소로 옮김 (압축 대상이면 같은 패스에서 압축)
+    private StagedFile stageLocalFile(Path source, String originalFileName) throws IOException {
+        String fileExtension = validateFileName(originalFileName);
+        Path compressed = isCompressible(fileExtension) ? compressedSibling(source) : null;
+
+        try {
+            StreamDigest streamDigest;
+            try (InputStream inputStream = Files.newInputStream(source);
+                    OutputStream gzipOut = openGzip(compressed)) {
+                streamDigest = copyAndDigest(inputStream, null, gzipOut);
+            }
+            return stage(source, compressed, originalFileName, fileExtension, streamDigest);
+        } catch (IOException | RuntimeException e) {
+            if (compressed != null) {
+                Files.deleteIfExists(compressed);
+            }
+            throw e;
+        }
+    }
+
+    private Path compressedSibling(Path source) {
+        return source.resolveSibling(UUID.randomUUID().toString() + ".gz");
+    }
+
+    // 압축하지 않으면 null (try-with-resources에서 건너뜀)
+    private OutputStream openGzip(Path compressed) throws IOException {
+        if (compressed == null) {
+            return null;
+        }
+        return new GZIPOutputStream(Files.newOutputStream(compressed, StandardOpenOption.CREATE_NEW), BUFFER_SIZE);
+    }
+
+    // out이 null이면 저장 없이 해시와 시그니처만 계산, gzipOut이 있으면 같은 버퍼를 압축해 기록
+    private StreamDigest copyAndDigest(InputStream inputStream, OutputStream out, OutputStream gzipOut)
+            throws IOException {
+        MessageDigest digest = newSha256Digest();
+        CRC32 crc32 = new CRC32();
+        byte[] buffer = new byte[BUFFER_SIZE];
+        byte[] signature = new byte[FileSignatureUtil.SIGNATURE_LENGTH];
+        int signatureLength = 0;
+        long fileSize = 0;
+        long maxFileSize = multipartConfigElement.getMaxFileSize();
+
+        int read;
+        while ((read = inputStream.read(buffer)) != -1) {
+            if (signatureLength < signature.length) {
+                int n = Math.min(read, signature.length - signatureLength);
+                System.arraycopy(buffer, 0, signature, signatureLength, n);
+                signatureLength += n;
+            }
+            fileSize += read;
+            if (maxFileSize > 0 && fileSize > maxFileSize) {
+                throw new RuntimeException(
+                        "파일 크기는 " + (maxFileSize / (1024 * 1024)) + "MB를 초과할 수 없습니다.");
+            }
+            digest.update(buffer, 0, read);
+            crc32.update(buffer, 0, read);
+            if (out != null) {
+                out.write(buffer, 0, read);
+            }
+            if (gzipOut != null) {
+                gzipOut.write(buffer, 0, read);
+            }
+        }
+        return new StreamDigest(HexFormat.of().formatHex(digest.digest()), crc32.getValue(), fileSize, signature,
+                signatureLength);
+    }
+
+    /**
+     * 검증이 끝난 임시 파일을 해시 키로 저장소에 옮깁니다.
+     * 같은 내용이 이미 저장되어 있으면 임시 파일만 지웁니다.
+     * compressed는 읽으면서 함께 만든 gzip 사본이며(압축 대상이 아니면 null), 원본과 사본 중 하나만 남깁니다.
+     */
+    private StagedFile stage(Path source, Path compressed, String originalFileName, String fileExtension,
+            StreamDigest streamDigest) throws IOException {
+        if (streamDigest.fileSize() == 0) {
+            throw new RuntimeException("파일이 비어있습니다.");
+        }
+        String contentType = FileSignatureUtil.detectContentType(
+                streamDigest.signature(), streamDigest.signatureLength(), fileExtension);
+        if (contentType == null) {
+            throw new RuntimeException("파일 내용이 확장자와 일치하지 않습니다.");
+        }
+
+        String hash = streamDigest.checksum();
+        long fileSize = streamDigest.fileSize();
+        // 삭제 예약된 파일은 곧 지워질 수 있으므로 재사용하지 않고 이번 업로드의 복사본으로 다시 기록
+        if (storageBackend.exists(hash) && !fileTombstoneRepository.existsByStorageKey(hash)) {
+            Files.deleteIfExists(source);
+            if (compressed != null) {
+                Files.deleteIfExists(compressed);
+            }
+            StagedFile stagedFile = new StagedFile(originalFileName, contentType, hash, streamDigest.crc32(),
+                    fileSize, detectStoredCompression(hash), storageBackend.size(hash), false);
+            createBlobIfAbsent(stagedFile);
+            return stagedFile;
+        }
+
+        Path storedSource = source;
+        StorageCompression compression = StorageCompression.NONE;
+        long storedSize = fileSize;
+        if (compressed != null) {
+            long compressedSize = Files.size(compressed);
+            // 줄어드는 양이 적으면 다운로드 때 압축을 푸는 비용만 늘어나므로 원본 그대로 저장
+            if (compressedSize <= fileSize * MAX_COMPRESSED_RATIO) {
+                Files.delete(source);
+                storedSource = compressed;
+                compression = StorageCompression.GZIP;
+                storedSize = compressedSize;
+            } else {
+                Files.delete(compressed);
+            }
+        }
+
+        // 내용이 같으면 파일도 같으므로 동시에 같은 파일이 올라와도 덮어써도 무방함
+        storageBackend.store(hash, storedSource);
+        StagedFile stagedFile = new StagedFile(originalFileName, contentType, hash, streamDigest.crc32(), fileSize,
+                compression, storedSize, true);
+        createBlobIfAbsent(stagedFile);
+        return stagedFile;
+    }
+
+    /**
+     * 같은 내용의 blob 행이 없으면 참조 수 0으로 만들어 둡니다 (트랜잭션 밖에서 호출).
+     * 2단계 트랜잭션은 참조 수만 올리므로 커넥션을 하나만 사용하고, 2단계가 롤백되어 남은 행은 GC가 유예 시간 뒤 정리합니다.
+     */
+    private void createBlobIfAbsent(StagedFile stagedFile) {
+        String hash = stagedFile.checksum();
+        if (fileBlobRepository.existsById(hash)) {
+            return;
+        }
+        try {
+            fileBlobRepository.insertUnreferenced(hash, stagedFile.fileSize(), stagedFile.crc32(),
+                    stagedFile.compression().name(), stagedFile.storedSize());
+        } catch (DataIntegrityViolationException e) {
+            // 같은 내용의 다른 업로드가 먼저 만듦
+        }
+    }
 
+    private boolean isCompressible(String fileExtension) {
+        return compressionEnabled && Arrays.stream(compressedExtensions)
+                .anyMatch(extension -> extension.trim().equalsIgnoreCase(fileExtension));
+    }
+
+    /**
+     * 이미 저장된 파일의 압축 여부를 gzip 매직 바이트로 판별합니다.
+     * 허용된 원본 형식(PDF, OLE2, ZIP)은 0x1F8B로 시작하지 않으므로 blob 행이 없어도 구분할 수 있습니다.
+     */
+    private StorageCompression detectStoredCompression(String storageKey) throws IOException {
+        try (InputStream inputStream = storageBackend.open(storageKey)) {
+            byte[] header = inputStream.readNBytes(2);
+            boolean gzip = header.length == 2 && (header[0] & 0xFF) == 0x1F && (header[1] & 0xFF) == 0x8B;
+            return gzip ? StorageCompression.GZIP : StorageCompression.NONE;
+        }
+    }
+
+    // 같은 내용의 파일은 blob 참조 수를 한 번에 올림
+    private List<FileEntity> createFileEntities(List<StagedFile> stagedFiles, User uploader) {
+        Map<String, List<StagedFile>> filesByHash = stagedFiles.stream()
+                .collect(Collectors.groupingBy(StagedFile::checksum, LinkedHashMap::new, Collectors.toList()));
+
+        List<FileEntity> fileEntities = new ArrayList<>();
+        filesByHash.forEach((hash, sameContentFiles) -> {
+            FileBlob blob = acquireBlob(sameContentFiles.get(0), sameContentFiles.size());
+            for (StagedFile stagedFile : sameContentFiles) {
+                fileEntities.add(createFileEntity(stagedFile, blob, uploader));
+            }
+        });
+        return fileEntities;
+    }
+
+    private FileEntity createFileEntity(StagedFile stagedFile, FileBlob blob, User uploader) {
+        FileEntity fileEntity = new FileEntity();
+        fileEntity.setOriginalFileName(stagedFile.originalFileName());
+        fileEntity.setStoredFileName(blob.getHash());
+        fileEntity.setFileType(stagedFile.contentType());
+        fileEntity.setFileSize(stagedFile.fileSize());
+        fileEntity.setChecksum(stagedFile.checksum());
+        fileEntity.setCompression(stagedFile.compression());
+        fileEntity.setBlob(blob);
+        fileEntity.setFilePath(blob.getHash());
+        fileEntity.setUploadedBy(uploader);
+        // 본문 추출은 커밋 후 백그라운드에서 수행 (TextExtractionService)
+        fileEntity.setTextStatus(TextExtractionStatus.PENDING);
         return fileEntity;
     }
 
+    public String validateFileName(String originalFileName) {
+        if (originalFileName == null || originalFileName.isBlank()) {
+            throw new RuntimeException("파일명이 없습니다.");
+        }
+        String fileExtension = getFileExtension(StringUtils.cleanPath(originalFileName));
+        if (!isAllowedExtension(fileExtension)) {
+            throw new RuntimeException("허용되지 않는 파일 형식입니다.");
+        }
+        return fileExtension;
+    }
+
+    /**
+     * stage 단계에서 만들어 둔 blob 행의 참조 수를 이 트랜잭션에서 올립니다.
+     * (저장소의 파일과 blob 행은 stage 단계에서 이미 기록됨)
+     * 같은 내용의 삭제 예약(tombstone)은 이 트랜잭션에서 취소하고, 그 사이 GC가 파일을 지웠으면 충돌로 처리합니다.
+     */
+    private FileBlob acquireBlob(StagedFile stagedFile, int references) {
+        String hash = stagedFile.checksum();
+        // 참조 없이 오래 남은 blob은 GC가 지우므로 그 사이에 지워졌으면 충돌로 처리
+        if (fileBlobRepository.incrementReferenceCount(hash, references) == 0) {
+            throw new RuntimeException("파일 저장 중 충돌이 발생했습니다. 다시 시도해주세요.");
+        }
+        FileBlob blob = fileBlobRepository.getReferenceById(hash);
+
+        // GC는 tombstone을 잠금 삭제로 가져간 채 파일을 지우므로, 가져간 중이면 GC가 커밋할 때까지 기다림
+        fileTombstoneRepository.deleteByStorageKey(hash);
+        // stage 이후 다른 요청이 마지막 참조를 지우면서 파일도 사라졌을 수 있음
+        if (!storageBackend.exists(hash)) {
+            throw new RuntimeException("파일 저장 중 충돌이 발생했습니다. 다시 시도해주세요.");
+        }
+        return blob;
+    }
+
+    // 참조 수를 내리고 마지막 참조였다면 실제 파일 삭제를 예약
+    private void releaseBlob(FileBlob blob) {
+        String hash = blob.getHash();
+        fileBlobRepository.decrementReferenceCount(hash);
+        if (fileBlobRepository.deleteIfUnreferenced(hash) > 0) {
+            fileTombstoneRepository.save(new FileTombstone(hash));
+        }
+    }
+
+    private void deletePhysicalFile(String storageKey) {
+        try {
+            storageBackend.delete(storageKey);
+        } catch (IOException e) {
+            log.error("파일 삭제 중 오류 발생: {}", e.getMessage());
+        }
+    }
+
+    private MessageDigest newSha256Digest() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 알고리즘을 사용할 수 없습니다.", e);
+        }
+    }
+
     private void validateFile(MultipartFile file) {
         if (file.isEmpty()) {
             throw new RuntimeException("파일이 비어있습니다.");
@@ -96,42 +537,51 @@ public class FileService {
     }
 
     private String getFileExtension(String fileName) {
-        return fileName.substring(fileName.lastIndexOf("."));
+        int index = fileName.lastIndexOf(".");
+        if (index < 0) {
+            throw new RuntimeException("허용되지 않는 파일 형식입니다.");
+        }
+        return fileName.substring(index);
     }
 
-    private void createUploadDirectoryIfNotExists() throws IOException {
-        Path uploadPath = Paths.get(uploadDir);
-        if (!Files.exists(uploadPath)) {
-            Files.createDirectories(uploadPath);
+    private void createStagingDirectoryIfNotExists() throws IOException {
+        Path stagingPath = Paths.get(stagingDir);
+        if (!Files.exists(stagingPath)) {
+            Files.createDirectories(stagingPath);
         }
     }
 
+    @Transactional
     public void deleteFile(Long fileId) {
         FileEntity file = fileRepository.findById(fileId)
                 .orElseThrow(() -> new RuntimeException("파일을 찾을 수 없습니다."));
 
-        // 실제 파일 삭제
-        Path filePath = Paths.get(file.getFilePath());
-        try {
-            Files.deleteIfExists(filePath);
-        } catch (IOException e) {
-            log.error("파일 삭제 중 오류 발생: {}", e.getMessage());
-        }
-
+        FileBlob blob = file.getBlob();
         fileRepository.delete(file);
+        fileTextRepository.deleteByFileId(fileId);
+
+        // 실제 파일은 마지막 참조가 사라질 때만, 트랜잭션이 커밋된 뒤 백그라운드에서 삭제
+        if (blob != null) {
+            releaseBlob(blob);
+        } else {
+            fileTombstoneRepository.save(new FileTombstone(getStorageKey(file)));
+        }
     }
 
     public FileDownloadResponse downloadFile(Long fileId) {
         FileEntity file = fileRepository.findById(fileId)
                 .orElseThrow(() -> new RuntimeException("파일을 찾을 수 없습니다."));
 
-        Path filePath = Paths.get(file.getFilePath());
-        Resource resource;
-        try {
-            resource = new UrlResource(filePath.toUri());
-        } catch (MalformedURLException e) {
-            throw new RuntimeException("파일을 찾을 수 없습니다.", e);
-        }
+        String storageKey = getStorageKey(file);
+        Resource resource = resolveLocalPath(file)
+                .<Resource>map(FileSystemResource::new)
+                .orElseGet(() -> {
+                    try {
+                        return new InputStreamResource(openStream(storageKey, file.getCompression()));
+                    } catch (IOException e) {
+                        throw new RuntimeException("파일을 찾을 수 없습니다.", e);
+                    }
+                });
 
         return new FileDownloadResponse(
                 file.getOriginalFileName(),
@@ -139,8 +589,74 @@ public class FileService {
                 resource);
     }
 
+    public Path getStagingDirectory() {
+        return Paths.get(stagingDir);
+    }
+
+    /**
+     * 저장소 키. 이전 버전의 행은 filePath에 "uploads/..." 형태의 평면 경로가 남아 있을 수 있으며,
+     * 이 경우 저장 파일명이 곧 키입니다.
+     */
+    public String getStorageKey(FileEntity file) {
+        return getStorageKey(file.getFilePath(), file.getStoredFileName());
+    }
+
+    public static String getStorageKey(String filePath, String storedFileName) {
+        return filePath.startsWith(LEGACY_PATH_PREFIX) ? storedFileName : filePath;
+    }
+
+    // 로컬 디스크에 원본 그대로 있는 경우의 경로 (zero-copy 전송이 가능한 경우)
+    public Optional<Path> resolveLocalPath(FileEntity file) {
+        if (file.isCompressed()) {
+            return Optional.empty();
+        }
+        return storageBackend.resolveLocalPath(getStorageKey(file));
+    }
+
+    // 원본 내용 (압축 저장된 파일은 읽으면서 압축 해제)
+    public InputStream openStream(FileEntity file) throws IOException {
+        return openStream(getStorageKey(file), file.getCompression());
+    }
+
+    public InputStream openStream(String storageKey, StorageCompression compression) throws IOException {
+        InputStream inputStream = storageBackend.open(storageKey);
+        if (compression != StorageCompression.GZIP) {
+            return inputStream;
+        }
+        try {
+            return new GZIPInputStream(inputStream, BUFFER_SIZE);
+        } catch (IOException e) {
+            inputStream.close();
+            throw e;
+        }
+    }
+
+    // 압축된 상태 그대로의 저장소 파일 (Content-Encoding: gzip 전송용)
+    public Optional<Path> resolveStoredPath(FileEntity file) {
+        return storageBackend.resolveLocalPath(getStorageKey(file));
+    }
+
+    public InputStream openStoredStream(FileEntity file) throws IOException {
+        return storageBackend.open(getStorageKey(file));
+    }
+
+    public long getStoredSize(FileEntity file) throws IOException {
+        return storageBackend.size(getStorageKey(file));
+    }
+
+    public boolean exists(FileEntity file) {
+        return storageBackend.exists(getStorageKey(file));
+    }
+
+    public long getMaxFileSize() {
+        return multipartConfigElement.getMaxFileSize();
+    }
+
     public FileEntity getFile(Long fileId) {
         return fileRepository.findById(fileId)
                 .orElseThrow(() -> new RuntimeException("파일을 찾을 수 없습니다."));
     }
+
+    private record StreamDigest(String checksum, long crc32, long fileSize, byte[] signature, int signatureLength) {
+    }
 }
\ No newline at end of file
@@ -2,36 +2,69 @@ package com.td.dms.service;
 
 import com.td.dms.entity.Folder;
 import com.td.dms.entity.User;
+import com.td.dms.repository.DocumentRepository;
+import com.td.dms.repository.FolderPathRepository;
 import com.td.dms.repository.FolderRepository;
 import com.td.dms.repository.UserRepository;
 import com.td.dms.dto.FolderResponse;
+import com.td.dms.search.FolderIndexEvent;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
+import java.util.Objects;
 import java.util.stream.Collectors;
 
+/**
+ * 폴더 관리. 폴더는 parent로 중첩되며, 조상-자손 관계는 FolderPath(클로저 테이블)에 함께 기록해
+ * 하위 트리, 경로(breadcrumb), 하위 폴더까지 포함한 문서 수를 깊이와 관계없이 쿼리 한 번으로 조회합니다.
+ */
 @Service
 @RequiredArgsConstructor
+@Slf4j
 public class FolderService {
     private final FolderRepository folderRepository;
+    private final FolderPathRepository folderPathRepository;
+    private final DocumentRepository documentRepository;
+    private final DocumentService documentService;
     private final UserRepository userRepository;
+    private final ApplicationEventPublisher eventPublisher;
+
+    // 계층 도입 전에 만든 폴더는 최상위 폴더로 경로를 채움
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfillPaths() {
+        int inserted = folderPathRepository.insertMissingSelfPaths();
+        if (inserted > 0) {
+            log.info("폴더 경로 보정: {}건", inserted);
+        }
+    }
 
     @Transactional
-    public FolderResponse createFolder(String name, String username) {
+    public FolderResponse createFolder(String name, Long parentId, String username) {
         User user = userRepository.findByUsername(username)
                 .orElseThrow(() -> new RuntimeException("사용자를 찾을 수 없습니다."));
 
-        if (folderRepository.existsByNameAndCreatedBy(name, user)) {
+        Folder parent = parentId == null ? null : getOwnedFolder(parentId, user);
+        if (folderRepository.existsByCreatedByAndParentAndName(user, parent, name)) {
             throw new RuntimeException("이미 존재하는 폴더 이름입니다.");
         }
 
         Folder folder = new Folder();
         folder.setName(name);
         folder.setCreatedBy(user);
+        folder.setParent(parent);
 
-        folder = folderRepository.save(folder);
+        folder = folderRepository.saveAndFlush(folder);
+        folderPathRepository.insertSelfPath(folder.getId());
+        if (parent != null) {
+            folderPathRepository.insertAncestorPaths(folder.getId(), parent.getId());
+        }
+        eventPublisher.publishEvent(FolderIndexEvent.saved(folder.getId(), user.getId(), folder.getName()));
         return convertToResponse(folder);
     }
 
@@ -46,49 +79,150 @@ public class FolderService {
                 .map(row -> FolderResponse.builder()
                         .id((Long) row[0])
                         .name((String) row[1])
-                        .documentCount(((Long) row[2]).intValue())
+                        .documentCount((Integer) row[2])
+                        .parentId((Long) row[3])
+                        .build())
+                .collect(Collectors.toList());
+    }
+
+    // 폴더와 모든 하위 폴더 (가까운 순, parentId로 트리를 구성)
+    @Transactional(readOnly = true)
+    public List<FolderResponse> getSubtree(Long id, String username) {
+        User user = userRepository.findByUsername(username)
+                .orElseThrow(() -> new RuntimeException("사용자를 찾을 수 없습니다."));
+        getOwnedFolder(id, user);
+
+        return folderRepository.findSubtreeRows(id).stream()
+                .map(row -> FolderResponse.builder()
+                        .id((Long) row[0])
+                        .name((String) row[1])
+                        .parentId((Long) row[2])
+                        .documentCount((Integer) row[3])
+                        .build())
+                .collect(Collectors.toList());
+    }
+
+    // 최상위 폴더부터 이 폴더까지의 경로
+    @Transactional(readOnly = true)
+    public List<FolderResponse> getPath(Long id, String username) {
+        User user = userRepository.findByUsername(username)
+                .orElseThrow(() -> new RuntimeException("사용자를 찾을 수 없습니다."));
+        getOwnedFolder(id, user);
+
+        return folderRepository.findPathRows(id).stream()
+                .map(row -> FolderResponse.builder()
+                        .id((Long) row[0])
+                        .name((String) row[1])
+                        .parentId((Long) row[2])
                         .build())
                 .collect(Collectors.toList());
     }
 
+    // 폴더의 문서 수 (recursive면 하위 폴더의 문서까지)
+    @Transactional(readOnly = true)
+    public long getDocumentCount(Long id, boolean recursive, String username) {
+        User user = userRepository.findByUsername(username)
+                .orElseThrow(() -> new RuntimeException("사용자를 찾을 수 없습니다."));
+        Folder folder = getOwnedFolder(id, user);
+
+        return recursive ? folderRepository.sumDocumentCountInSubtree(id) : folder.getDocumentCount();
+    }
+
     @Transactional
     public FolderResponse updateFolder(Long id, String name, String username) {
         User user = userRepository.findByUsername(username)
                 .orElseThrow(() -> new RuntimeException("사용자를 찾을 수 없습니다."));
 
-        Folder folder = folderRepository.findByIdAndCreatedBy(id, user)
-                .orElseThrow(() -> new RuntimeException("폴더를 찾을 수 없습니다."));
+        Folder folder = getOwnedFolder(id, user);
 
         if (!folder.getName().equals(name) &&
-                folderRepository.existsByNameAndCreatedBy(name, user)) {
+                folderRepository.existsByCreatedByAndParentAndName(user, folder.getParent(), name)) {
             throw new RuntimeException("이미 존재하는 폴더 이름입니다.");
         }
 
         folder.setName(name);
         folder = folderRepository.save(folder);
+        eventPublisher.publishEvent(FolderIndexEvent.saved(folder.getId(), user.getId(), folder.getName()));
         return convertToResponse(folder);
     }
 
+    /**
+     * 폴더를 하위 폴더째 다른 폴더 아래로 옮깁니다 (parentId가 null이면 최상위로).
+     * 하위 트리 내부의 경로는 그대로 두고, 바깥 조상과의 경로만 끊었다가 새 조상들과 다시 연결합니다.
+     */
     @Transactional
-    public void deleteFolder(Long id, String username) {
+    public FolderResponse moveFolder(Long id, Long parentId, String username) {
         User user = userRepository.findByUsername(username)
                 .orElseThrow(() -> new RuntimeException("사용자를 찾을 수 없습니다."));
 
-        Folder folder = folderRepository.findByIdAndCreatedBy(id, user)
-                .orElseThrow(() -> new RuntimeException("폴더를 찾을 수 없습니다."));
+        Folder folder = getOwnedFolder(id, user);
+        Folder parent = parentId == null ? null : getOwnedFolder(parentId, user);
+
+        // 지금 위치로 옮기면 할 일이 없음 (같은 이름 검사에 자기 자신이 걸리지 않도록 먼저 확인)
+        Long currentParentId = folder.getParent() != null ? folder.getParent().getId() : null;
+        if (Objects.equals(currentParentId, parentId)) {
+            return convertToResponse(folder);
+        }
+
+        // 자기 자신이나 하위 폴더 아래로는 옮길 수 없음
+        if (parent != null && folderPathRepository.existsByAncestorIdAndDescendantId(id, parent.getId())) {
+            throw new RuntimeException("하위 폴더로는 이동할 수 없습니다.");
+        }
+        if (folderRepository.existsByCreatedByAndParentAndName(user, parent, folder.getName())) {
+            throw new RuntimeException("이동할 위치에 같은 이름의 폴더가 있습니다.");
+        }
 
-        if (!folder.getDocuments().isEmpty()) {
-            throw new RuntimeException("폴더에 문서가 있어 삭제할 수 없습니다.");
+        folder.setParent(parent);
+        folder = folderRepository.saveAndFlush(folder);
+        folderPathRepository.detachSubtree(id);
+        if (parent != null) {
+            folderPathRepository.attachSubtree(id, parent.getId());
         }
+        return convertToResponse(folder);
+    }
+
+    /**
+     * 폴더를 삭제합니다. recursive가 아니면 비어 있는 폴더만 삭제하고(존재 여부만 조회),
+     * recursive면 하위 폴더와 그 안의 문서(첨부파일 포함)까지 함께 삭제합니다.
+     */
+    @Transactional
+    public void deleteFolder(Long id, boolean recursive, String username) {
+        User user = userRepository.findByUsername(username)
+                .orElseThrow(() -> new RuntimeException("사용자를 찾을 수 없습니다."));
+
+        Folder folder = getOwnedFolder(id, user);
 
-        folderRepository.delete(folder);
+        if (!recursive) {
+            // 문서/하위 폴더 컬렉션을 읽지 않고 존재 여부만 확인
+            if (documentRepository.existsByFolder(folder)) {
+                throw new RuntimeException("폴더에 문서가 있어 삭제할 수 없습니다.");
+            }
+            if (folderPathRepository.existsByAncestorIdAndDepth(id, 1)) {
+                throw new RuntimeException("하위 폴더가 있어 삭제할 수 없습니다.");
+            }
+        }
+
+        List<Long> folderIds = folderPathRepository.findDescendantIds(id);
+        for (Long documentId : documentRepository.findIdsByFolderIdIn(folderIds)) {
+            documentService.deleteDocument(documentId);
+        }
+        folderPathRepository.deleteByDescendantIdIn(folderIds);
+        folderRepository.clearParents(folderIds);
+        folderRepository.deleteByIdIn(folderIds);
+        folderIds.forEach(folderId -> eventPublisher.publishEvent(FolderIndexEvent.deleted(folderId)));
+    }
+
+    private Folder getOwnedFolder(Long id, User user) {
+        return folderRepository.findByIdAndCreatedBy(id, user)
+                .orElseThrow(() -> new RuntimeException("폴더를 찾을 수 없습니다."));
     }
 
     private FolderResponse convertToResponse(Folder folder) {
         return FolderResponse.builder()
                 .id(folder.getId())
                 .name(folder.getName())
-                .documentCount(folder.getDocuments().size())
+                .parentId(folder.getParent() != null ? folder.getParent().getId() : null)
+                .documentCount(folder.getDocumentCount())
                 .build();
     }
-}
\ No newline at end of file
+}
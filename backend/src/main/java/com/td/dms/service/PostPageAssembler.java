@@ -0,0 +1,106 @@
+package com.td.dms.service;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.stereotype.Component;
+
+import com.td.dms.dto.CommentResponse;
+import com.td.dms.dto.FileResponse;
+import com.td.dms.dto.PostResponse;
+import com.td.dms.entity.Comment;
+import com.td.dms.entity.Post;
+import com.td.dms.entity.TextExtractionStatus;
+import com.td.dms.repository.CommentRepository;
+import com.td.dms.repository.FileRepository;
+import com.td.dms.repository.PostRepository;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * 게시글 응답 조립.
+ * 페이지에 담긴 게시글 id로 작성자 이름, 첨부파일 요약, 최근 댓글을 종류별로 한 번씩 모아 조회하므로
+ * 게시글 수와 관계없이 쿼리 수가 일정합니다. (게시글마다 연관 엔티티를 따라가지 않음)
+ */
+@Component
+@RequiredArgsConstructor
+public class PostPageAssembler {
+    // 목록에 함께 내려주는 최근 댓글 수
+    public static final int RECENT_COMMENT_COUNT = 5;
+
+    private final PostRepository postRepository;
+    private final FileRepository fileRepository;
+    private final CommentRepository commentRepository;
+    private final RecentCommentCache recentCommentCache;
+    private final ViewCountBuffer viewCountBuffer;
+
+    public PostResponse assemble(Post post) {
+        return assemble(List.of(post)).get(0);
+    }
+
+    // 게시글 순서를 유지한 응답 목록
+    public List<PostResponse> assemble(List<Post> posts) {
+        if (posts.isEmpty()) {
+            return List.of();
+        }
+        List<Long> postIds = posts.stream().map(Post::getId).toList();
+
+        Map<Long, String> authorNames = new HashMap<>();
+        for (Object[] row : postRepository.findAuthorNames(postIds)) {
+            authorNames.put((Long) row[0], (String) row[1]);
+        }
+
+        Map<Long, List<FileResponse>> files = new HashMap<>();
+        for (Object[] row : fileRepository.findSummariesByPostIdIn(postIds)) {
+            files.computeIfAbsent((Long) row[0], key -> new ArrayList<>())
+                    .add(new FileResponse((Long) row[1], (String) row[2], (Long) row[3],
+                            (TextExtractionStatus) row[4]));
+        }
+
+        Map<Long, List<CommentResponse>> recentComments = loadRecentComments(postIds);
+
+        return posts.stream()
+                .map(post -> PostResponse.builder()
+                        .id(post.getId())
+                        .title(post.getTitle())
+                        .content(post.getContent())
+                        .authorName(authorNames.get(post.getId()))
+                        .createdAt(post.getCreatedAt())
+                        .updatedAt(post.getUpdatedAt())
+                        .viewCount(post.getViewCount() + (int) viewCountBuffer.pending(post.getId()))
+                        .commentCount(post.getCommentCount())
+                        .files(files.getOrDefault(post.getId(), List.of()))
+                        .recentComments(recentComments.getOrDefault(post.getId(), List.of()))
+                        .build())
+                .toList();
+    }
+
+    // 캐시에 있는 게시글은 캐시에서, 나머지는 한 번에 조회한 뒤 캐시에 넣음
+    private Map<Long, List<CommentResponse>> loadRecentComments(List<Long> postIds) {
+        Map<Long, List<CommentResponse>> recentComments = recentCommentCache.getAll(postIds);
+        List<Long> missing = postIds.stream().filter(postId -> !recentComments.containsKey(postId)).toList();
+        if (missing.isEmpty()) {
+            return recentComments;
+        }
+
+        Map<Long, Long> versions = new HashMap<>();
+        missing.forEach(postId -> versions.put(postId, recentCommentCache.version(postId)));
+
+        Map<Long, List<CommentResponse>> loaded = new HashMap<>();
+        List<Long> recentCommentIds = commentRepository.findRecentIdsByPostIdIn(missing, RECENT_COMMENT_COUNT);
+        if (!recentCommentIds.isEmpty()) {
+            for (Comment comment : commentRepository.findWithAuthorByIdIn(recentCommentIds)) {
+                loaded.computeIfAbsent(comment.getPost().getId(), key -> new ArrayList<>())
+                        .add(new CommentResponse(comment));
+            }
+        }
+        for (Long postId : missing) {
+            List<CommentResponse> comments = loaded.getOrDefault(postId, List.of());
+            recentCommentCache.put(postId, comments, versions.get(postId));
+            recentComments.put(postId, comments);
+        }
+        return recentComments;
+    }
+}
@@ -1,23 +1,36 @@
 package com.td.dms.service;
 
+import com.td.dms.dto.CursorPage;
 import com.td.dms.dto.PostRequest;
 import com.td.dms.dto.PostResponse;
-import com.td.dms.dto.FileResponse;
-import com.td.dms.dto.CommentResponse;
 import com.td.dms.entity.Post;
 import com.td.dms.entity.User;
 import com.td.dms.entity.FileEntity;
 import com.td.dms.repository.PostRepository;
 import com.td.dms.repository.UserRepository;
+import com.td.dms.search.PostIndexEvent;
+import com.td.dms.search.PostSearchIndex;
+import com.td.dms.search.SearchHit;
+import com.td.dms.search.SearchResult;
+import com.td.dms.util.CursorUtil;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.web.multipart.MultipartFile;
 import lombok.extern.slf4j.Slf4j;
 
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 @Service
@@ -28,90 +41,122 @@ public class PostService {
     private final PostRepository postRepository;
     private final UserRepository userRepository;
     private final FileService fileService;
-    private final CommentService commentService;
+    private final PostPageAssembler postPageAssembler;
+    private final ViewCountBuffer viewCountBuffer;
+    private final TransactionTemplate transactionTemplate;
+    private final PostSearchIndex postSearchIndex;
+    private final ApplicationEventPublisher eventPublisher;
 
     public Page<PostResponse> getAllPosts(Pageable pageable) {
-        return postRepository.findAll(pageable)
-                .map(this::convertToResponse);
+        return toResponsePage(postRepository.findAll(pageable));
     }
 
-    @Transactional
+    // 커서 기반 목록 (최신 순). 전체 건수는 요청한 경우에만 셈
+    public CursorPage<PostResponse> getPostsByCursor(String cursor, int size, boolean withTotal) {
+        CursorUtil.Position position = CursorUtil.decode(cursor, CursorUtil.NEWEST);
+        int limit = CursorUtil.size(size);
+        List<Post> posts = postRepository.findPageAfter(position.createdAt(), position.id(),
+                PageRequest.ofSize(limit + 1));
+        return CursorUtil.page(posts, limit, post -> CursorUtil.encode(post.getCreatedAt(), post.getId()),
+                postPageAssembler::assemble, withTotal ? postRepository.count() : null);
+    }
+
+    // 조회수는 ViewCountBuffer에 모았다가 주기적으로 한 번에 기록 (조회가 쓰기 트랜잭션이 되지 않도록)
     public PostResponse getPost(Long id) {
         Post post = postRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("게시글을 찾을 수 없습니다."));
-        postRepository.incrementViewCount(id);
-        return convertToResponse(post);
+        viewCountBuffer.increment(id);
+        return postPageAssembler.assemble(post);
     }
 
-    @Transactional
+    /**
+     * 첨부파일은 트랜잭션 밖에서 먼저 저장하고(1단계), 게시글과 파일 메타데이터는
+     * 짧은 트랜잭션 하나로 기록합니다(2단계). 커밋에 실패하면 새로 저장한 파일을 정리합니다.
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public PostResponse createPost(PostRequest request, List<MultipartFile> files, String username) {
+        List<StagedFile> stagedFiles = List.of();
         try {
-            User author = userRepository.findByUsername(username)
-                    .orElseThrow(() -> new RuntimeException("사용자를 찾을 수 없습니다."));
-
-            Post post = new Post();
-            post.setTitle(request.getTitle());
-            post.setContent(request.getContent());
-            post.setAuthor(author);
-
-            // 먼저 post 저장
-            post = postRepository.save(post);
-
-            // 그 다음 파일 처리
-            if (files != null && !files.isEmpty()) {
-                for (MultipartFile file : files) {
-                    FileEntity fileEntity = fileService.uploadFile(file, username, post);
-                    post.addFile(fileEntity);
-                }
-            }
-
-            return convertToResponse(postRepository.save(post));
+            stagedFiles = fileService.stageFiles(files);
+            List<StagedFile> filesToAttach = stagedFiles;
+            return transactionTemplate.execute(status -> saveNewPost(request, filesToAttach, username));
         } catch (Exception e) {
+            fileService.discardStaged(stagedFiles);
             log.error("게시글 생성 중 오류 발생: {}", e.getMessage());
             throw new RuntimeException("게시글 생성 중 오류가 발생했습니다: " + e.getMessage());
         }
     }
 
-    @Transactional
-    public PostResponse updatePost(Long id, PostRequest request, List<MultipartFile> files, String username) {
-        try {
-            Post post = postRepository.findById(id)
-                    .orElseThrow(() -> new RuntimeException("게시글을 찾을 수 없습니다."));
+    private PostResponse saveNewPost(PostRequest request, List<StagedFile> stagedFiles, String username) {
+        User author = userRepository.findByUsername(username)
+                .orElseThrow(() -> new RuntimeException("사용자를 찾을 수 없습니다."));
 
-            if (!post.getAuthor().getUsername().equals(username)) {
-                throw new RuntimeException("게시글 수정 권한이 없습니다.");
-            }
+        Post post = new Post();
+        post.setTitle(request.getTitle());
+        post.setContent(request.getContent());
+        post.setAuthor(author);
 
-            post.setTitle(request.getTitle());
-            post.setContent(request.getContent());
-
-            // 기존 파일 중 유지할 파일만 남기고 나머지 삭제
-            post.getFiles().removeIf(file -> {
-                if (!request.getFileIds().contains(file.getId())) {
-                    fileService.deleteFile(file.getId());
-                    return true;
-                }
-                return false;
-            });
-
-            // 새로운 파일 추가
-            if (files != null && !files.isEmpty()) {
-                for (MultipartFile file : files) {
-                    FileEntity fileEntity = fileService.uploadFile(file, username, post);
-                    post.addFile(fileEntity);
-                }
-            }
+        // 먼저 post 저장
+        post = postRepository.save(post);
 
-            return convertToResponse(postRepository.save(post));
+        // 그 다음 파일 처리
+        for (FileEntity fileEntity : fileService.attachStaged(stagedFiles, author, post)) {
+            post.addFile(fileEntity);
+        }
+
+        post = postRepository.save(post);
+        eventPublisher.publishEvent(PostIndexEvent.saved(post.getId(), post.getTitle(), post.getContent()));
+        return postPageAssembler.assemble(post);
+    }
+
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public PostResponse updatePost(Long id, PostRequest request, List<MultipartFile> files, String username) {
+        List<StagedFile> stagedFiles = List.of();
+        try {
+            stagedFiles = fileService.stageFiles(files);
+            List<StagedFile> filesToAttach = stagedFiles;
+            return transactionTemplate.execute(status -> savePostUpdate(id, request, filesToAttach, username));
         } catch (Exception e) {
+            fileService.discardStaged(stagedFiles);
             log.error("게시글 수정 중 오류 발생: {}", e.getMessage());
             throw new RuntimeException("게시글 수정 중 오류가 발생했습니다: " + e.getMessage());
         }
     }
 
+    private PostResponse savePostUpdate(Long id, PostRequest request, List<StagedFile> stagedFiles,
+            String username) {
+        Post post = postRepository.findEditById(id)
+                .orElseThrow(() -> new RuntimeException("게시글을 찾을 수 없습니다."));
+
+        if (!post.getAuthor().getUsername().equals(username)) {
+            throw new RuntimeException("게시글 수정 권한이 없습니다.");
+        }
+
+        post.setTitle(request.getTitle());
+        post.setContent(request.getContent());
+
+        // 기존 파일 중 유지할 파일만 남기고 나머지 삭제
+        post.getFiles().removeIf(file -> {
+            if (!request.getFileIds().contains(file.getId())) {
+                fileService.deleteFile(file.getId());
+                return true;
+            }
+            return false;
+        });
+
+        // 새로운 파일 추가
+        for (FileEntity fileEntity : fileService.attachStaged(stagedFiles, post.getAuthor(), post)) {
+            post.addFile(fileEntity);
+        }
+
+        post = postRepository.save(post);
+        eventPublisher.publishEvent(PostIndexEvent.saved(post.getId(), post.getTitle(), post.getContent()));
+        return postPageAssembler.assemble(post);
+    }
+
     @Transactional
     public void deletePost(Long id, String username) {
-        Post post = postRepository.findById(id)
+        Post post = postRepository.findEditById(id)
                 .orElseThrow(() -> new RuntimeException("게시글을 찾을 수 없습니다."));
 
         if (!post.getAuthor().getUsername().equals(username)) {
@@ -122,45 +167,94 @@ public class PostService {
         post.getFiles().forEach(file -> fileService.deleteFile(file.getId()));
 
         postRepository.delete(post);
+        eventPublisher.publishEvent(PostIndexEvent.deleted(id));
     }
 
-    private PostResponse convertToResponse(Post post) {
-        List<FileResponse> fileResponses = post.getFiles().stream()
-                .map(file -> FileResponse.builder()
-                        .id(file.getId())
-                        .originalFileName(file.getOriginalFileName())
-                        .fileSize(file.getFileSize())
-                        .build())
-                .collect(Collectors.toList());
-
-        List<CommentResponse> recentComments = commentService.getRecentComments(post.getId(), 5);
-
-        return PostResponse.builder()
-                .id(post.getId())
-                .title(post.getTitle())
-                .content(post.getContent())
-                .authorName(post.getAuthor().getUsername())
-                .createdAt(post.getCreatedAt())
-                .updatedAt(post.getUpdatedAt())
-                .viewCount(post.getViewCount())
-                .commentCount((int) commentService.getCommentCount(post.getId()))
-                .files(fileResponses)
-                .recentComments(recentComments)
-                .build();
+    // 페이지의 게시글을 한 번에 조립 (게시글마다 연관 데이터를 따로 조회하지 않음)
+    private Page<PostResponse> toResponsePage(Page<Post> page) {
+        return new PageImpl<>(postPageAssembler.assemble(page.getContent()), page.getPageable(),
+                page.getTotalElements());
     }
 
     public Page<PostResponse> searchByTitle(String keyword, Pageable pageable) {
-        return postRepository.findByTitleContaining(keyword, pageable)
-                .map(this::convertToResponse);
+        return search(keyword, PostSearchIndex.TITLE_ONLY, pageable,
+                () -> postRepository.findByTitleContaining(keyword, pageable));
     }
 
     public Page<PostResponse> searchByContent(String keyword, Pageable pageable) {
-        return postRepository.findByContentContaining(keyword, pageable)
-                .map(this::convertToResponse);
+        return search(keyword, PostSearchIndex.CONTENT_ONLY, pageable,
+                () -> postRepository.findByContentContaining(keyword, pageable));
     }
 
     public Page<PostResponse> searchByTitleOrContent(String keyword, Pageable pageable) {
-        return postRepository.findByTitleContainingOrContentContaining(keyword, keyword, pageable)
-                .map(this::convertToResponse);
+        return search(keyword, PostSearchIndex.ALL_FIELDS, pageable,
+                () -> postRepository.findByTitleContainingOrContentContaining(keyword, keyword, pageable));
+    }
+
+    /**
+     * 검색 색인에서 관련도 순으로 찾은 뒤 해당 페이지의 게시글만 조회합니다.
+     * 서비스 시작 직후 색인이 아직 구축 중이면 기존 LIKE 검색으로 대체합니다.
+     */
+    private Page<PostResponse> search(String keyword, Map<String, Double> fieldBoosts, Pageable pageable,
+            Supplier<Page<Post>> fallback) {
+        if (!postSearchIndex.isReady()) {
+            return toResponsePage(fallback.get());
+        }
+
+        SearchResult result = postSearchIndex.search(keyword, fieldBoosts,
+                (int) pageable.getOffset(), pageable.getPageSize());
+        List<Long> ids = result.hits().stream().map(SearchHit::id).toList();
+        Map<Long, Post> postsById = postRepository.findAllById(ids).stream()
+                .collect(Collectors.toMap(Post::getId, Function.identity()));
+
+        List<Post> posts = ids.stream()
+                .map(postsById::get)
+                .filter(Objects::nonNull)
+                .toList();
+        return new PageImpl<>(postPageAssembler.assemble(posts), pageable, result.total());
+    }
+
+    /**
+     * 커서 기반 검색. 색인에서는 (점수, id) 순으로 이전 페이지의 마지막 결과 다음부터 찾으므로 뒤 페이지도 비용이 같습니다.
+     * 색인이 아직 구축 중이면 (작성 시각, id) 순 LIKE 검색으로 대체하고, 그렇게 시작한 검색은 끝까지 같은 순서로 이어갑니다.
+     */
+    public CursorPage<PostResponse> searchByCursor(String keyword, String searchType, String cursor, int size,
+            boolean withTotal) {
+        Map<String, Double> fieldBoosts = fieldBoosts(searchType);
+        int limit = CursorUtil.size(size);
+
+        if (!postSearchIndex.isReady() || CursorUtil.isTimeCursor(cursor)) {
+            boolean inTitle = fieldBoosts.containsKey(PostSearchIndex.TITLE);
+            boolean inContent = fieldBoosts.containsKey(PostSearchIndex.CONTENT);
+            CursorUtil.Position position = CursorUtil.decode(cursor, CursorUtil.NEWEST);
+            List<Post> posts = postRepository.searchPageAfter(keyword, inTitle, inContent, position.createdAt(),
+                    position.id(), PageRequest.ofSize(limit + 1));
+            return CursorUtil.page(posts, limit, post -> CursorUtil.encode(post.getCreatedAt(), post.getId()),
+                    postPageAssembler::assemble,
+                    withTotal ? postRepository.countSearch(keyword, inTitle, inContent) : null);
+        }
+
+        CursorUtil.ScorePosition position = CursorUtil.decodeScore(cursor);
+        SearchHit after = position == null ? null : new SearchHit(position.id(), position.score());
+        SearchResult result = postSearchIndex.searchAfter(keyword, fieldBoosts, after, limit + 1);
+        List<Long> ids = result.hits().stream().map(SearchHit::id).toList();
+        Map<Long, Post> postsById = postRepository.findAllById(ids).stream()
+                .collect(Collectors.toMap(Post::getId, Function.identity()));
+
+        return CursorUtil.page(result.hits(), limit, hit -> CursorUtil.encodeScore(hit.score(), hit.id()),
+                hits -> postPageAssembler.assemble(hits.stream()
+                        .map(hit -> postsById.get(hit.id()))
+                        .filter(Objects::nonNull)
+                        .toList()),
+                withTotal ? result.total() : null);
+    }
+
+    private static Map<String, Double> fieldBoosts(String searchType) {
+        return switch (searchType) {
+            case "title" -> PostSearchIndex.TITLE_ONLY;
+            case "content" -> PostSearchIndex.CONTENT_ONLY;
+            case "all" -> PostSearchIndex.ALL_FIELDS;
+            default -> throw new IllegalArgumentException("Invalid search type");
+        };
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,169 @@
+package com.td.dms.service;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.td.dms.dto.CommentResponse;
+import com.td.dms.search.PostIndexEvent;
+
+/**
+ * 최근 조회된 게시글의 최근 댓글 캐시.
+ * 게시글마다 최근 댓글 N개를 고정 크기 원형 버퍼로 들고 있다가, 댓글 작성/수정이 커밋되면 버퍼를 바로 갱신합니다.
+ * 버퍼 안의 댓글이 삭제되면 그 다음 댓글을 알 수 없으므로 해당 게시글을 캐시에서 뺍니다.
+ * 캐시할 게시글 수는 max-posts로 제한하며 가장 오래 읽히지 않은 게시글부터 밀려납니다.
+ */
+@Component
+public class RecentCommentCache {
+    private static final int STRIPES = 64;
+
+    private final boolean enabled;
+    private final int capacity;
+    private final Map<Long, RingBuffer> buffers;
+    // DB에서 읽는 사이에 댓글이 바뀌었는지 확인하는 게시글별(줄무늬) 변경 번호
+    private final AtomicLongArray versions = new AtomicLongArray(STRIPES);
+
+    public RecentCommentCache(
+            @Value("${dms.comments.recent-cache.enabled:true}") boolean enabled,
+            @Value("${dms.comments.recent-cache.max-posts:10000}") int maxPosts) {
+        this.enabled = enabled;
+        this.capacity = PostPageAssembler.RECENT_COMMENT_COUNT;
+        this.buffers = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, RingBuffer> eldest) {
+                return size() > maxPosts;
+            }
+        };
+    }
+
+    // 캐시에 있는 게시글의 최근 댓글 (최근 순)
+    public Map<Long, List<CommentResponse>> getAll(Collection<Long> postIds) {
+        Map<Long, List<CommentResponse>> found = new HashMap<>();
+        if (!enabled) {
+            return found;
+        }
+        synchronized (buffers) {
+            for (Long postId : postIds) {
+                RingBuffer buffer = buffers.get(postId);
+                if (buffer != null) {
+                    found.put(postId, buffer.toList());
+                }
+            }
+        }
+        return found;
+    }
+
+    // DB 조회 전에 받아 두었다가 put에 넘기는 변경 번호
+    public long version(Long postId) {
+        return versions.get(stripe(postId));
+    }
+
+    /**
+     * DB에서 읽은 최근 댓글(최근 순)을 캐시합니다.
+     * 읽는 사이에 같은 줄무늬의 댓글이 바뀌었다면 오래된 목록일 수 있으므로 넣지 않습니다.
+     */
+    public void put(Long postId, List<CommentResponse> recentComments, long version) {
+        if (!enabled) {
+            return;
+        }
+        synchronized (buffers) {
+            if (versions.get(stripe(postId)) != version) {
+                return;
+            }
+            RingBuffer buffer = new RingBuffer(capacity);
+            for (int i = Math.min(recentComments.size(), capacity) - 1; i >= 0; i--) {
+                buffer.push(recentComments.get(i));
+            }
+            buffers.put(postId, buffer);
+        }
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onCommentChanged(CommentChangedEvent event) {
+        synchronized (buffers) {
+            versions.incrementAndGet(stripe(event.postId()));
+            RingBuffer buffer = buffers.get(event.postId());
+            if (buffer == null) {
+                return;
+            }
+            switch (event.type()) {
+                case CREATED -> buffer.push(event.comment());
+                case UPDATED -> buffer.replace(event.comment());
+                case DELETED -> {
+                    if (buffer.contains(event.commentId())) {
+                        buffers.remove(event.postId());
+                    }
+                }
+            }
+        }
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onPostChanged(PostIndexEvent event) {
+        if (event.deleted()) {
+            synchronized (buffers) {
+                buffers.remove(event.postId());
+            }
+        }
+    }
+
+    private static int stripe(Long postId) {
+        return (int) (postId & (STRIPES - 1));
+    }
+
+    // 가장 최근 댓글부터 capacity개만 남기는 원형 버퍼 (가득 차면 가장 오래된 댓글을 덮어씀)
+    private static final class RingBuffer {
+        private final CommentResponse[] comments;
+        private int head; // 다음에 쓸 위치
+        private int size;
+
+        private RingBuffer(int capacity) {
+            this.comments = new CommentResponse[capacity];
+        }
+
+        // 이미 들어 있는 댓글은 넣지 않음 (커밋 후 이벤트 전에 DB에서 읽어 캐시한 댓글이 다시 오는 경우)
+        private void push(CommentResponse comment) {
+            if (contains(comment.getId())) {
+                return;
+            }
+            comments[head] = comment;
+            head = (head + 1) % comments.length;
+            size = Math.min(size + 1, comments.length);
+        }
+
+        private void replace(CommentResponse comment) {
+            for (int i = 0; i < comments.length; i++) {
+                if (comments[i] != null && comments[i].getId().equals(comment.getId())) {
+                    comments[i] = comment;
+                }
+            }
+        }
+
+        private boolean contains(Long commentId) {
+            for (CommentResponse comment : comments) {
+                if (comment != null && comment.getId().equals(commentId)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        // 최근 순
+        private List<CommentResponse> toList() {
+            List<CommentResponse> list = new ArrayList<>(size);
+            for (int i = 1; i <= size; i++) {
+                list.add(comments[(head - i + comments.length) % comments.length]);
+            }
+            return list;
+        }
+    }
+}
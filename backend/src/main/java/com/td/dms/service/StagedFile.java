@@ -0,0 +1,22 @@
+package com.td.dms.service;
+
+import com.td.dms.entity.StorageCompression;
+
+/**
+ * 트랜잭션 밖에서 검증과 저장소 기록까지 끝낸 업로드 파일.
+ * 메타데이터(FileEntity, blob 참조 수)는 이후 짧은 트랜잭션에서 기록합니다.
+ *
+ * @param crc32       ZIP 내보내기에서 압축 없이 담을 때 필요한 CRC-32
+ * @param compression 저장소에 기록된 형식 (fileSize는 원본 크기, storedSize는 저장된 크기)
+ * @param newlyStored 이번 업로드로 저장소에 새로 기록되었는지 여부 (커밋 실패 시 정리 대상)
+ */
+public record StagedFile(
+        String originalFileName,
+        String contentType,
+        String checksum,
+        long crc32,
+        long fileSize,
+        StorageCompression compression,
+        long storedSize,
+        boolean newlyStored) {
+}
@@ -0,0 +1,46 @@
+package com.td.dms.service;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.stereotype.Service;
+
+import com.td.dms.dto.SuggestionResponse;
+import com.td.dms.entity.User;
+import com.td.dms.repository.UserRepository;
+import com.td.dms.search.Suggestion;
+import com.td.dms.search.SuggestIndex;
+
+import lombok.RequiredArgsConstructor;
+
+@Service
+@RequiredArgsConstructor
+public class SuggestService {
+    private static final int MAX_LIMIT = 20;
+
+    private final SuggestIndex suggestIndex;
+    private final UserRepository userRepository;
+
+    // 종류별로 최대 limit개씩, 폴더 → 문서 → 게시글 순으로 반환 (문서와 폴더는 본인 것만)
+    public List<SuggestionResponse> suggest(String prefix, int limit, String username) {
+        User user = userRepository.findByUsername(username)
+                .orElseThrow(() -> new RuntimeException("사용자를 찾을 수 없습니다."));
+        int size = Math.max(1, Math.min(limit, MAX_LIMIT));
+
+        List<SuggestionResponse> suggestions = new ArrayList<>();
+        addAll(suggestions, "folder", suggestIndex.suggestFolders(user.getId(), prefix, size));
+        addAll(suggestions, "document", suggestIndex.suggestDocuments(user.getId(), prefix, size));
+        addAll(suggestions, "post", suggestIndex.suggestPosts(prefix, size));
+        return suggestions;
+    }
+
+    private void addAll(List<SuggestionResponse> suggestions, String type, List<Suggestion> found) {
+        for (Suggestion suggestion : found) {
+            suggestions.add(SuggestionResponse.builder()
+                    .type(type)
+                    .id(suggestion.id())
+                    .title(suggestion.title())
+                    .build());
+        }
+    }
+}
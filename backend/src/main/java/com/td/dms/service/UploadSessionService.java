@@ -0,0 +1,276 @@
+package com.td.dms.service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.unit.DataSize;
+
+import com.td.dms.dto.FileUploadResponse;
+import com.td.dms.dto.UploadCompleteRequest;
+import com.td.dms.dto.UploadSessionRequest;
+import com.td.dms.dto.UploadSessionResponse;
+import com.td.dms.entity.UploadChunk;
+import com.td.dms.entity.UploadSession;
+import com.td.dms.entity.User;
+import com.td.dms.repository.UploadChunkRepository;
+import com.td.dms.repository.UploadSessionRepository;
+import com.td.dms.repository.UserRepository;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 청크 단위 이어올리기 업로드.
+ * 청크는 세션별 임시 파일의 해당 위치에 바로 기록되고, 기록이 끝난 청크만 upload_chunks에 남깁니다.
+ * 청크 쓰기는 트랜잭션 밖에서 수행되므로 느린 업로드가 DB 커넥션을 붙잡지 않습니다.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class UploadSessionService {
+    private static final String SESSION_DIR = "sessions";
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final long MIN_CHUNK_SIZE = DataSize.ofKilobytes(256).toBytes();
+
+    private final UploadSessionRepository uploadSessionRepository;
+    private final UploadChunkRepository uploadChunkRepository;
+    private final UserRepository userRepository;
+    private final FileService fileService;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${dms.upload.default-chunk-size:5MB}")
+    private DataSize defaultChunkSize;
+
+    @Value("${dms.upload.session-ttl:24h}")
+    private Duration sessionTtl;
+
+    // 사용자별 세션 수와 미리 확보하는 전체 크기의 한도 (정리되기 전의 만료된 세션 포함)
+    @Value("${dms.upload.max-active-sessions:5}")
+    private int maxActiveSessions;
+
+    @Value("${dms.upload.max-reserved-size:500MB}")
+    private DataSize maxReservedSize;
+
+    /**
+     * 세션을 만들고 임시 파일을 선언한 크기로 미리 늘려 둡니다.
+     * 미리 확보하는 디스크 양을 제한하기 위해 사용자별 세션 수와 전체 크기를 검사하며,
+     * 같은 사용자의 동시 요청은 사용자 행 잠금으로 차례로 검사합니다.
+     */
+    public UploadSessionResponse createSession(UploadSessionRequest request, String username) throws IOException {
+        fileService.validateFileName(request.getFileName());
+        long maxFileSize = fileService.getMaxFileSize();
+        if (request.getFileSize() > maxFileSize) {
+            throw new RuntimeException("파일 크기는 " + (maxFileSize / (1024 * 1024)) + "MB를 초과할 수 없습니다.");
+        }
+
+        long chunkSize = request.getChunkSize() != null ? request.getChunkSize() : defaultChunkSize.toBytes();
+        if (chunkSize < MIN_CHUNK_SIZE || chunkSize > maxFileSize) {
+            throw new RuntimeException("청크 크기가 올바르지 않습니다.");
+        }
+
+        UploadSession session = transactionTemplate.execute(status -> {
+            User user = userRepository.findByUsernameForUpdate(username)
+                    .orElseThrow(() -> new RuntimeException("사용자를 찾을 수 없습니다."));
+            checkSessionLimits(user, request.getFileSize());
+
+            UploadSession newSession = new UploadSession();
+            newSession.setId(UUID.randomUUID().toString());
+            newSession.setUser(user);
+            newSession.setOriginalFileName(request.getFileName());
+            newSession.setFileSize(request.getFileSize());
+            newSession.setChunkSize((int) chunkSize);
+            newSession.setTotalChunks((int) ((request.getFileSize() + chunkSize - 1) / chunkSize));
+            newSession.setExpiresAt(LocalDateTime.now().plus(sessionTtl));
+            return uploadSessionRepository.save(newSession);
+        });
+
+        // 선언한 크기로 미리 늘려 두어 청크가 어떤 순서로 와도 제자리에 쓰이게 함 (지원하는 파일 시스템에서는 sparse)
+        Path partFile = getPartFile(session.getId());
+        try {
+            Files.createDirectories(partFile.getParent());
+            Files.createFile(partFile);
+            try (RandomAccessFile file = new RandomAccessFile(partFile.toFile(), "rw")) {
+                file.setLength(request.getFileSize());
+            }
+        } catch (IOException e) {
+            Files.deleteIfExists(partFile);
+            uploadSessionRepository.deleteById(session.getId());
+            throw e;
+        }
+        return convertToResponse(session, List.of());
+    }
+
+    private void checkSessionLimits(User user, long fileSize) {
+        Object[] active = uploadSessionRepository.sumSessionsByUser(user).get(0);
+        long sessionCount = ((Number) active[0]).longValue();
+        long reservedSize = ((Number) active[1]).longValue();
+        if (sessionCount >= maxActiveSessions) {
+            throw new RuntimeException("진행 중인 업로드가 너무 많습니다. 기존 업로드를 완료하거나 취소해주세요.");
+        }
+        if (reservedSize + fileSize > maxReservedSize.toBytes()) {
+            throw new RuntimeException("진행 중인 업로드의 전체 크기가 "
+                    + maxReservedSize.toMegabytes() + "MB를 초과할 수 없습니다.");
+        }
+    }
+
+    /**
+     * offset 위치에 청크 하나를 기록합니다. offset은 청크 크기의 배수여야 하며,
+     * 서로 다른 청크는 동시에 올려도 되고 같은 청크를 다시 올리면 덮어씁니다.
+     */
+    public UploadSessionResponse writeChunk(String sessionId, long offset, InputStream inputStream, String username)
+            throws IOException {
+        UploadSession session = getActiveSession(sessionId, username);
+
+        if (offset < 0 || offset >= session.getFileSize() || offset % session.getChunkSize() != 0) {
+            throw new RuntimeException("잘못된 청크 위치입니다.");
+        }
+        int chunkIndex = (int) (offset / session.getChunkSize());
+        long expectedLength = Math.min(session.getChunkSize(), session.getFileSize() - offset);
+
+        try (FileChannel channel = FileChannel.open(getPartFile(sessionId), StandardOpenOption.WRITE)) {
+            byte[] buffer = new byte[BUFFER_SIZE];
+            long written = 0;
+            int read;
+            while ((read = inputStream.read(buffer)) != -1) {
+                if (written + read > expectedLength) {
+                    throw new RuntimeException("청크 크기가 올바르지 않습니다.");
+                }
+                ByteBuffer byteBuffer = ByteBuffer.wrap(buffer, 0, read);
+                while (byteBuffer.hasRemaining()) {
+                    written += channel.write(byteBuffer, offset + written);
+                }
+            }
+            if (written != expectedLength) {
+                throw new RuntimeException("청크 크기가 올바르지 않습니다.");
+            }
+            // 디스크에 반영된 뒤에만 청크를 완료로 기록
+            channel.force(false);
+        }
+
+        if (!uploadChunkRepository.existsBySessionIdAndChunkIndex(sessionId, chunkIndex)) {
+            UploadChunk chunk = new UploadChunk();
+            chunk.setSession(session);
+            chunk.setChunkIndex(chunkIndex);
+            try {
+                uploadChunkRepository.save(chunk);
+            } catch (DataIntegrityViolationException e) {
+                // 같은 청크가 동시에 올라온 경우 (이미 기록됨)
+            }
+        }
+
+        session.setExpiresAt(LocalDateTime.now().plus(sessionTtl));
+        session = uploadSessionRepository.save(session);
+        return convertToResponse(session, uploadChunkRepository.findChunkIndexes(sessionId));
+    }
+
+    public UploadSessionResponse getSession(String sessionId, String username) {
+        UploadSession session = getActiveSession(sessionId, username);
+        return convertToResponse(session, uploadChunkRepository.findChunkIndexes(sessionId));
+    }
+
+    // 모든 청크가 모이면 파일을 검증해 문서 또는 게시글에 첨부하고 세션을 정리
+    public FileUploadResponse completeSession(String sessionId, UploadCompleteRequest request, String username)
+            throws IOException {
+        UploadSession session = getActiveSession(sessionId, username);
+
+        Path partFile = getPartFile(sessionId);
+        if (uploadChunkRepository.countBySessionId(sessionId) != session.getTotalChunks()
+                || Files.size(partFile) != session.getFileSize()) {
+            throw new RuntimeException("아직 업로드되지 않은 청크가 있습니다.");
+        }
+
+        FileUploadResponse response = fileService.uploadAssembledFile(partFile, session.getOriginalFileName(),
+                username, request.getDocumentId(), request.getPostId());
+        discard(session);
+        return response;
+    }
+
+    public void cancelSession(String sessionId, String username) {
+        UploadSession session = uploadSessionRepository.findByIdAndUserUsername(sessionId, username)
+                .orElseThrow(() -> new RuntimeException("업로드 세션을 찾을 수 없습니다."));
+        discard(session);
+    }
+
+    // 만료된 세션의 임시 파일과 청크 기록 정리 (정리하지 못한 세션은 로그를 남기고 건너뛰어 다음 주기에 재시도)
+    @Scheduled(fixedDelayString = "${dms.upload.session-cleanup-interval:600000}")
+    public void cleanupExpiredSessions() {
+        LocalDateTime now = LocalDateTime.now();
+        String lastId = "";
+        int discarded = 0;
+        List<UploadSession> expired;
+        do {
+            expired = uploadSessionRepository.findTop100ByExpiresAtBeforeAndIdGreaterThanOrderByIdAsc(now, lastId);
+            for (UploadSession session : expired) {
+                lastId = session.getId();
+                try {
+                    discard(session);
+                    discarded++;
+                } catch (RuntimeException e) {
+                    log.error("만료된 업로드 세션 정리 중 오류 발생: {} - {}", session.getId(), e.getMessage());
+                }
+            }
+        } while (expired.size() == 100);
+
+        if (discarded > 0) {
+            log.info("만료된 업로드 세션 {}개 정리", discarded);
+        }
+    }
+
+    private UploadSession getActiveSession(String sessionId, String username) {
+        UploadSession session = uploadSessionRepository.findByIdAndUserUsername(sessionId, username)
+                .orElseThrow(() -> new RuntimeException("업로드 세션을 찾을 수 없습니다."));
+        if (session.getExpiresAt().isBefore(LocalDateTime.now())) {
+            throw new RuntimeException("업로드 세션이 만료되었습니다.");
+        }
+        return session;
+    }
+
+    private void discard(UploadSession session) {
+        try {
+            Files.deleteIfExists(getPartFile(session.getId()));
+        } catch (IOException e) {
+            log.error("업로드 임시 파일 삭제 중 오류 발생: {}", e.getMessage());
+        }
+        uploadChunkRepository.deleteBySessionId(session.getId());
+        uploadSessionRepository.deleteById(session.getId());
+    }
+
+    private Path getPartFile(String sessionId) {
+        return fileService.getStagingDirectory().resolve(SESSION_DIR).resolve(sessionId + ".part");
+    }
+
+    private UploadSessionResponse convertToResponse(UploadSession session, List<Integer> receivedChunks) {
+        // 0번부터 연속으로 받은 청크까지가 확정된 위치
+        int contiguous = 0;
+        while (contiguous < receivedChunks.size() && receivedChunks.get(contiguous) == contiguous) {
+            contiguous++;
+        }
+        long committedOffset = Math.min((long) contiguous * session.getChunkSize(), session.getFileSize());
+
+        return UploadSessionResponse.builder()
+                .id(session.getId())
+                .fileName(session.getOriginalFileName())
+                .fileSize(session.getFileSize())
+                .chunkSize(session.getChunkSize())
+                .totalChunks(session.getTotalChunks())
+                .committedOffset(committedOffset)
+                .receivedChunks(receivedChunks)
+                .expiresAt(session.getExpiresAt())
+                .build();
+    }
+}
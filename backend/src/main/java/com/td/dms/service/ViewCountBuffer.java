@@ -0,0 +1,87 @@
+package com.td.dms.service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 게시글 조회수 지연 기록.
+ * 조회할 때마다 UPDATE하지 않고 게시글별 LongAdder에 모아 두었다가, 주기적으로(flush-interval) 한 번의 배치 UPDATE로 반영합니다.
+ * 서버가 비정상 종료되면 마지막 반영 이후의 조회수만 잃으며, 정상 종료 시에는 남은 값을 모두 기록합니다.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ViewCountBuffer {
+    private static final String UPDATE_SQL = "UPDATE posts SET view_count = view_count + ? WHERE id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    // 게시글 id -> 아직 DB에 반영하지 않은 조회수
+    private final Map<Long, LongAdder> pending = new ConcurrentHashMap<>();
+    // 반영 중인 조회수 (UPDATE가 끝나기 전에도 응답의 조회수가 줄어 보이지 않도록)
+    private final Map<Long, Long> flushing = new ConcurrentHashMap<>();
+
+    public void increment(Long postId) {
+        add(postId, 1);
+    }
+
+    // 키 단위로 원자적으로 더함 (flush가 같은 키의 빈 LongAdder를 지우는 중이면 끝날 때까지 기다렸다가 새로 만듦)
+    private void add(Long postId, long delta) {
+        pending.compute(postId, (key, adder) -> {
+            LongAdder target = adder != null ? adder : new LongAdder();
+            target.add(delta);
+            return target;
+        });
+    }
+
+    // 아직 반영하지 않은 조회수 (응답의 viewCount에 더해 실시간처럼 보이도록)
+    public long pending(Long postId) {
+        LongAdder adder = pending.get(postId);
+        return (adder == null ? 0 : adder.sum()) + flushing.getOrDefault(postId, 0L);
+    }
+
+    @Scheduled(fixedDelayString = "${dms.posts.view-flush-interval:5000}")
+    public synchronized void flush() {
+        List<Object[]> batch = new ArrayList<>();
+        pending.forEach((postId, adder) -> {
+            long delta = adder.sumThenReset();
+            if (delta > 0) {
+                flushing.put(postId, delta);
+                batch.add(new Object[] { delta, postId });
+            } else {
+                // 지난 주기 이후 조회가 없던 게시글은 정리 (increment와 같은 키 잠금 안에서 비어 있을 때만 지움)
+                pending.computeIfPresent(postId, (key, current) -> current.sum() == 0 ? null : current);
+            }
+        });
+        if (batch.isEmpty()) {
+            return;
+        }
+
+        try {
+            jdbcTemplate.batchUpdate(UPDATE_SQL, batch);
+        } catch (RuntimeException e) {
+            // 기록하지 못한 조회수는 다음 주기에 다시 시도
+            for (Object[] row : batch) {
+                add((Long) row[1], (Long) row[0]);
+            }
+            log.error("조회수 반영 중 오류 발생: {}", e.getMessage());
+        } finally {
+            flushing.clear();
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        flush();
+    }
+}
@@ -0,0 +1,171 @@
+package com.td.dms.service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.zip.CRC32;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+
+import com.td.dms.dto.FileExportRow;
+import com.td.dms.entity.Folder;
+import com.td.dms.entity.User;
+import com.td.dms.repository.FileRepository;
+import com.td.dms.repository.FolderRepository;
+import com.td.dms.repository.UserRepository;
+import com.td.dms.storage.StorageBackend;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 여러 첨부파일을 하나의 ZIP으로 응답에 바로 스트리밍합니다.
+ * 파일 정보는 id 순으로 조금씩 조회하고 파일 내용은 저장소에서 그대로 흘려보내므로
+ * 폴더 크기와 관계없이 임시 파일이나 큰 버퍼를 쓰지 않습니다.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ZipExportService {
+    private static final int BATCH_SIZE = 500;
+    private static final int MAX_EXPORT_FILES = 1000;
+    private static final int BUFFER_SIZE = 64 * 1024;
+    // 이미 ZIP으로 압축된 형식은 다시 압축하지 않고 그대로 담음
+    private static final Set<String> STORED_EXTENSIONS = Set.of(".docx", ".xlsx");
+
+    private final FileRepository fileRepository;
+    private final FolderRepository folderRepository;
+    private final UserRepository userRepository;
+    private final StorageBackend storageBackend;
+    private final FileService fileService;
+
+    // 스트리밍 시작 전에 권한을 확인하고 내려받을 파일명으로 쓸 폴더 이름을 반환
+    public String getExportFolderName(Long folderId, String username) {
+        User user = userRepository.findByUsername(username)
+                .orElseThrow(() -> new RuntimeException("사용자를 찾을 수 없습니다."));
+        Folder folder = folderRepository.findByIdAndCreatedBy(folderId, user)
+                .orElseThrow(() -> new RuntimeException("폴더를 찾을 수 없습니다."));
+        return folder.getName();
+    }
+
+    public void validateFileIds(List<Long> fileIds) {
+        if (fileIds == null || fileIds.isEmpty()) {
+            throw new RuntimeException("내보낼 파일을 선택해주세요.");
+        }
+        if (fileIds.size() > MAX_EXPORT_FILES) {
+            throw new RuntimeException("한 번에 " + MAX_EXPORT_FILES + "개까지 내보낼 수 있습니다.");
+        }
+    }
+
+    // 폴더 안 문서의 첨부파일을 "문서 제목/파일명" 구조로 기록
+    public void writeFolder(Long folderId, OutputStream outputStream) throws IOException {
+        writeZip(outputStream, lastId -> fileRepository.findExportRowsByFolderId(
+                folderId, lastId, PageRequest.ofSize(BATCH_SIZE)), true);
+    }
+
+    // 선택한 파일 중 사용자 소유가 아닌 파일은 담지 않음
+    public void writeFiles(List<Long> fileIds, String username, OutputStream outputStream) throws IOException {
+        User user = userRepository.findByUsername(username)
+                .orElseThrow(() -> new RuntimeException("사용자를 찾을 수 없습니다."));
+        writeZip(outputStream, lastId -> fileRepository.findExportRowsByIdIn(
+                fileIds, user, lastId, PageRequest.ofSize(BATCH_SIZE)), false);
+    }
+
+    private void writeZip(OutputStream outputStream, Function<Long, List<FileExportRow>> nextBatch,
+            boolean groupByDocument) throws IOException {
+        ZipOutputStream zip = new ZipOutputStream(outputStream, StandardCharsets.UTF_8);
+        Set<String> entryNames = new HashSet<>();
+
+        Long lastId = 0L;
+        List<FileExportRow> batch;
+        do {
+            batch = nextBatch.apply(lastId);
+            for (FileExportRow row : batch) {
+                lastId = row.id();
+                String directory = groupByDocument && row.documentTitle() != null
+                        ? sanitize(row.documentTitle()) + "/"
+                        : "";
+                writeEntry(zip, row, uniqueName(entryNames, directory, sanitize(row.originalFileName())));
+            }
+        } while (batch.size() == BATCH_SIZE);
+
+        // 응답 스트림은 컨테이너가 닫으므로 ZIP 끝부분만 기록
+        zip.finish();
+        zip.flush();
+    }
+
+    private void writeEntry(ZipOutputStream zip, FileExportRow row, String entryName) throws IOException {
+        String storageKey = FileService.getStorageKey(row.filePath(), row.storedFileName());
+        if (!storageBackend.exists(storageKey)) {
+            // 중간에 응답을 끊으면 ZIP 전체가 깨지므로 없는 파일만 건너뜀
+            log.warn("내보낼 파일을 저장소에서 찾을 수 없습니다: {} ({})", row.id(), storageKey);
+            return;
+        }
+
+        ZipEntry entry = new ZipEntry(entryName);
+        if (isStored(entryName) && row.fileSize() != null) {
+            entry.setMethod(ZipEntry.STORED);
+            entry.setSize(row.fileSize());
+            entry.setCompressedSize(row.fileSize());
+            entry.setCrc(row.crc32() != null ? row.crc32() : computeCrc32(storageKey, row));
+        }
+
+        zip.putNextEntry(entry);
+        try (InputStream inputStream = fileService.openStream(storageKey, row.compression())) {
+            inputStream.transferTo(zip);
+        }
+        zip.closeEntry();
+    }
+
+    // CRC를 저장하기 전에 올라온 파일은 한 번 더 읽어 계산
+    private long computeCrc32(String storageKey, FileExportRow row) throws IOException {
+        CRC32 crc32 = new CRC32();
+        byte[] buffer = new byte[BUFFER_SIZE];
+        try (InputStream inputStream = fileService.openStream(storageKey, row.compression())) {
+            int read;
+            while ((read = inputStream.read(buffer)) != -1) {
+                crc32.update(buffer, 0, read);
+            }
+        }
+        return crc32.getValue();
+    }
+
+    private boolean isStored(String entryName) {
+        int index = entryName.lastIndexOf('.');
+        return index >= 0 && STORED_EXTENSIONS.contains(entryName.substring(index).toLowerCase());
+    }
+
+    // 같은 이름이 있으면 "이름 (2).ext" 형태로 바꿈
+    private String uniqueName(Set<String> entryNames, String directory, String fileName) {
+        String name = directory + fileName;
+        if (entryNames.add(name)) {
+            return name;
+        }
+        int index = fileName.lastIndexOf('.');
+        String baseName = index > 0 ? fileName.substring(0, index) : fileName;
+        String extension = index > 0 ? fileName.substring(index) : "";
+        for (int i = 2;; i++) {
+            name = directory + baseName + " (" + i + ")" + extension;
+            if (entryNames.add(name)) {
+                return name;
+            }
+        }
+    }
+
+    // 경로 구분자 등 압축 해제 시 문제가 되는 문자 제거
+    private String sanitize(String name) {
+        String sanitized = name.replaceAll("[\\\\/:*?\"<>|\\p{Cntrl}]", "_").trim();
+        if (sanitized.isEmpty() || sanitized.equals(".") || sanitized.equals("..")) {
+            return "_";
+        }
+        return sanitized;
+    }
+}
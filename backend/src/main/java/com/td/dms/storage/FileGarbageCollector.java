@@ -0,0 +1,220 @@
+package com.td.dms.storage;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Stream;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.td.dms.entity.FileBlob;
+import com.td.dms.entity.FileEntity;
+import com.td.dms.entity.FileTombstone;
+import com.td.dms.repository.FileBlobRepository;
+import com.td.dms.repository.FileRepository;
+import com.td.dms.repository.FileTombstoneRepository;
+import com.td.dms.service.FileService;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 저장소 파일의 지연 삭제와 정합성 점검.
+ * 파일 삭제는 요청 트랜잭션에서 tombstone으로만 기록되고, 여기서 유예 시간이 지난 뒤 실제로 지웁니다.
+ * 삭제 요청이 롤백되면 tombstone도 함께 사라지므로 DB와 저장소가 어긋나지 않습니다.
+ * 같은 내용을 다시 올리는 업로드는 자기 트랜잭션에서 tombstone을 지우므로, GC는 tombstone을 잠금 삭제로
+ * 가져간 트랜잭션 안에서 파일을 지워 두 작업이 같은 행에서 차례로 실행되게 합니다.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class FileGarbageCollector {
+    private static final int BATCH_SIZE = 500;
+    private static final int MAX_ATTEMPTS = 10;
+    // 로그에 남길 고아/누락 키 최대 개수
+    private static final int REPORT_LIMIT = 100;
+
+    private final StorageBackend storageBackend;
+    private final FileTombstoneRepository fileTombstoneRepository;
+    private final FileBlobRepository fileBlobRepository;
+    private final FileRepository fileRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    // 삭제 예약 후 실제 삭제까지 기다리는 시간 (그 사이 같은 내용이 다시 올라오면 파일을 그대로 재사용)
+    @Value("${dms.storage.gc.grace-period:1m}")
+    private Duration gracePeriod;
+
+    @Scheduled(fixedDelayString = "${dms.storage.gc.sweep-interval:60000}")
+    public void sweep() {
+        int deleted = 0;
+        int batchDeleted;
+        List<FileTombstone> batch;
+        do {
+            batch = fileTombstoneRepository.findTop100ByCreatedAtBeforeAndAttemptsLessThanOrderByIdAsc(
+                    LocalDateTime.now().minus(gracePeriod), MAX_ATTEMPTS);
+            batchDeleted = 0;
+            for (FileTombstone tombstone : batch) {
+                if (collect(tombstone)) {
+                    batchDeleted++;
+                }
+            }
+            deleted += batchDeleted;
+            // 한 묶음이 모두 실패하면 다음 주기에 재시도
+        } while (batch.size() == 100 && batchDeleted > 0);
+
+        if (deleted > 0) {
+            log.info("삭제 예정 파일 {}개 정리", deleted);
+        }
+        releaseUnreferencedBlobs();
+    }
+
+    // blob 행을 먼저 만든 업로드가 롤백되어 참조 없이 남은 blob은 삭제를 예약 (다음 주기에 파일 삭제)
+    private void releaseUnreferencedBlobs() {
+        try {
+            List<String> hashes = fileBlobRepository.findUnreferencedHashes(LocalDateTime.now().minus(gracePeriod),
+                    PageRequest.ofSize(BATCH_SIZE));
+            for (String hash : hashes) {
+                transactionTemplate.executeWithoutResult(status -> {
+                    if (fileBlobRepository.deleteIfUnreferenced(hash) > 0) {
+                        fileTombstoneRepository.save(new FileTombstone(hash));
+                    }
+                });
+            }
+        } catch (RuntimeException e) {
+            log.error("참조 없는 blob 정리 중 오류 발생: {}", e.getMessage());
+        }
+    }
+
+    // tombstone 하나를 처리 (삭제했으면 true, 업로드가 먼저 취소했거나 실패하면 false). 테스트에서 직접 호출
+    boolean collect(FileTombstone tombstone) {
+        String key = tombstone.getStorageKey();
+        try {
+            Boolean deleted = transactionTemplate.execute(status -> {
+                // 업로드가 먼저 삭제 예약을 취소했으면 파일을 남김 (업로드가 커밋 전이면 여기서 기다림)
+                if (fileTombstoneRepository.claim(tombstone.getId()) == 0) {
+                    return false;
+                }
+                // 그 사이 같은 내용이 다시 업로드되어 blob이 살아났다면 파일을 남김
+                if (fileBlobRepository.existsById(key)) {
+                    return false;
+                }
+                // tombstone을 잡은 채로 지워, 같은 내용의 업로드가 지워지는 파일을 참조하며 커밋하지 못하게 함
+                try {
+                    storageBackend.delete(key);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+                return true;
+            });
+            return Boolean.TRUE.equals(deleted);
+        } catch (RuntimeException e) {
+            String message = e instanceof UncheckedIOException ? e.getCause().getMessage() : e.getMessage();
+            fileTombstoneRepository.recordFailure(tombstone.getId(), truncate(message));
+            log.error("파일 삭제 중 오류 발생 ({}회): {} - {}", tombstone.getAttempts() + 1, key, message);
+            return false;
+        }
+    }
+
+    /**
+     * 저장소와 DB를 대조해 어느 쪽에도 연결되지 않은 파일(고아)과
+     * DB에는 있지만 저장소에 없는 파일(누락)을 찾아 로그로 남깁니다. 자동으로 지우지는 않습니다.
+     */
+    @Scheduled(cron = "${dms.storage.gc.reconcile-cron:0 0 4 * * *}")
+    public void reconcile() {
+        try {
+            List<String> orphaned = new ArrayList<>();
+            long orphanedCount = findOrphanedKeys(orphaned);
+            List<String> missing = new ArrayList<>();
+            long missingCount = findMissingKeys(missing);
+
+            if (orphanedCount > 0) {
+                log.warn("DB에 연결되지 않은 저장소 파일 {}개: {}", orphanedCount, orphaned);
+            }
+            if (missingCount > 0) {
+                log.warn("저장소에 없는 파일 {}개: {}", missingCount, missing);
+            }
+            if (orphanedCount == 0 && missingCount == 0) {
+                log.info("저장소 정합성 점검 완료: 이상 없음");
+            }
+        } catch (IOException | RuntimeException e) {
+            log.error("저장소 정합성 점검 중 오류 발생: {}", e.getMessage());
+        }
+    }
+
+    // 저장소 key를 묶음 단위로 DB에 조회 (업로드 직후 아직 커밋되지 않은 파일도 잡힐 수 있음)
+    private long findOrphanedKeys(List<String> samples) throws IOException {
+        long count = 0;
+        try (Stream<String> keys = storageBackend.listKeys()) {
+            Iterator<String> iterator = keys.iterator();
+            List<String> batch = new ArrayList<>(BATCH_SIZE);
+            while (iterator.hasNext()) {
+                batch.add(iterator.next());
+                if (batch.size() == BATCH_SIZE || !iterator.hasNext()) {
+                    Set<String> known = new HashSet<>(fileBlobRepository.findExistingHashes(batch));
+                    known.addAll(fileRepository.findLegacyStoredFileNames(batch));
+                    known.addAll(fileTombstoneRepository.findPendingKeys(batch));
+                    for (String key : batch) {
+                        if (!known.contains(key)) {
+                            count = addSample(samples, key, count);
+                        }
+                    }
+                    batch.clear();
+                }
+            }
+        }
+        return count;
+    }
+
+    private long findMissingKeys(List<String> samples) {
+        long count = 0;
+        String lastHash = "";
+        List<FileBlob> blobs;
+        do {
+            blobs = fileBlobRepository.findByHashGreaterThanOrderByHashAsc(lastHash, PageRequest.ofSize(BATCH_SIZE));
+            for (FileBlob blob : blobs) {
+                lastHash = blob.getHash();
+                if (!storageBackend.exists(blob.getHash())) {
+                    count = addSample(samples, blob.getHash(), count);
+                }
+            }
+        } while (blobs.size() == BATCH_SIZE);
+
+        Long lastId = 0L;
+        List<FileEntity> files;
+        do {
+            files = fileRepository.findByBlobIsNullAndIdGreaterThanOrderByIdAsc(lastId, PageRequest.ofSize(BATCH_SIZE));
+            for (FileEntity file : files) {
+                lastId = file.getId();
+                String key = FileService.getStorageKey(file.getFilePath(), file.getStoredFileName());
+                if (!storageBackend.exists(key)) {
+                    count = addSample(samples, key, count);
+                }
+            }
+        } while (files.size() == BATCH_SIZE);
+        return count;
+    }
+
+    private long addSample(List<String> samples, String key, long count) {
+        if (samples.size() < REPORT_LIMIT) {
+            samples.add(key);
+        }
+        return count + 1;
+    }
+
+    private String truncate(String message) {
+        if (message == null) {
+            return null;
+        }
+        return message.length() > 500 ? message.substring(0, 500) : message;
+    }
+}
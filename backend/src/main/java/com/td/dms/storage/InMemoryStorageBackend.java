@@ -0,0 +1,60 @@
+package com.td.dms.storage;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+// 테스트용 메모리 저장소 (dms.storage.type=memory)
+@Component
+@ConditionalOnProperty(name = "dms.storage.type", havingValue = "memory")
+public class InMemoryStorageBackend implements StorageBackend {
+    private final Map<String, byte[]> objects = new ConcurrentHashMap<>();
+
+    @Override
+    public void store(String key, Path source) throws IOException {
+        objects.put(key, Files.readAllBytes(source));
+        Files.deleteIfExists(source);
+    }
+
+    @Override
+    public InputStream open(String key) throws IOException {
+        return new ByteArrayInputStream(get(key));
+    }
+
+    @Override
+    public boolean exists(String key) {
+        return objects.containsKey(key);
+    }
+
+    @Override
+    public long size(String key) throws IOException {
+        return get(key).length;
+    }
+
+    @Override
+    public void delete(String key) {
+        objects.remove(key);
+    }
+
+    @Override
+    public Stream<String> listKeys() {
+        return objects.keySet().stream();
+    }
+
+    private byte[] get(String key) throws IOException {
+        byte[] bytes = objects.get(key);
+        if (bytes == null) {
+            throw new NoSuchFileException(key);
+        }
+        return bytes;
+    }
+}
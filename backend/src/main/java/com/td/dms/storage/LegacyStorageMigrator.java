@@ -0,0 +1,97 @@
+package com.td.dms.storage;
+
+import java.io.IOException;
+import java.util.List;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+
+import com.td.dms.entity.FileBlob;
+import com.td.dms.entity.FileEntity;
+import com.td.dms.repository.FileBlobRepository;
+import com.td.dms.repository.FileRepository;
+import com.td.dms.service.FileService;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 업로드 디렉터리 바로 아래에 평면으로 저장된 이전 파일을 해시 하위 디렉터리로 옮기고,
+ * filePath를 저장소 키로 바꿉니다. 서비스 시작 후 백그라운드에서 조금씩 진행되며,
+ * 진행 중에도 LocalStorageBackend가 두 위치를 모두 읽으므로 다운로드는 계속 동작합니다.
+ */
+@Component
+@ConditionalOnProperty(name = "dms.storage.type", havingValue = "local", matchIfMissing = true)
+@RequiredArgsConstructor
+@Slf4j
+public class LegacyStorageMigrator {
+    private static final int BATCH_SIZE = 500;
+
+    private final LocalStorageBackend localStorageBackend;
+    private final FileRepository fileRepository;
+    private final FileBlobRepository fileBlobRepository;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void startMigration() {
+        Thread.ofVirtual().name("storage-migration").start(this::migrate);
+    }
+
+    void migrate() {
+        int blobs = migrateBlobs();
+        int files = migrateFiles();
+        if (blobs + files > 0) {
+            log.info("이전 형식 파일 마이그레이션 완료: blob {}개, 파일 {}개", blobs, files);
+        }
+    }
+
+    private int migrateBlobs() {
+        int migrated = 0;
+        String lastHash = "";
+        List<FileBlob> batch;
+        do {
+            batch = fileBlobRepository.findByFilePathStartingWithAndHashGreaterThanOrderByHashAsc(
+                    FileService.LEGACY_PATH_PREFIX, lastHash, PageRequest.ofSize(BATCH_SIZE));
+            for (FileBlob blob : batch) {
+                lastHash = blob.getHash();
+                if (relocate(blob.getHash())) {
+                    fileBlobRepository.updateFilePath(blob.getHash(), blob.getHash());
+                    migrated++;
+                }
+            }
+        } while (batch.size() == BATCH_SIZE);
+        return migrated;
+    }
+
+    private int migrateFiles() {
+        int migrated = 0;
+        Long lastId = 0L;
+        List<FileEntity> batch;
+        do {
+            batch = fileRepository.findByFilePathStartingWithAndIdGreaterThanOrderByIdAsc(
+                    FileService.LEGACY_PATH_PREFIX, lastId, PageRequest.ofSize(BATCH_SIZE));
+            for (FileEntity file : batch) {
+                lastId = file.getId();
+                // 이전 형식에서는 저장 파일명이 곧 키
+                if (relocate(file.getStoredFileName())) {
+                    fileRepository.updateFilePath(file.getId(), file.getStoredFileName());
+                    migrated++;
+                }
+            }
+        } while (batch.size() == BATCH_SIZE);
+        return migrated;
+    }
+
+    // 실패한 항목은 건너뛰고 다음 시작 시 다시 시도
+    private boolean relocate(String key) {
+        try {
+            localStorageBackend.relocateLegacy(key);
+            return true;
+        } catch (IOException | IllegalArgumentException e) {
+            log.error("파일 마이그레이션 중 오류 발생 ({}): {}", key, e.getMessage());
+            return false;
+        }
+    }
+}
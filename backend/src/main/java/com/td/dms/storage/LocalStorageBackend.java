@@ -0,0 +1,134 @@
+package com.td.dms.storage;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * 로컬 파일시스템 저장소. key 앞 4글자로 두 단계 하위 디렉터리를 만들어 분산 저장합니다.
+ * 예) key "3fa9c2..." → {root}/3f/a9/3fa9c2...
+ * 이전 버전처럼 root 바로 아래에 있는 파일도 읽을 수 있어 마이그레이션 중에도 중단 없이 동작합니다.
+ */
+@Component
+@ConditionalOnProperty(name = "dms.storage.type", havingValue = "local", matchIfMissing = true)
+public class LocalStorageBackend implements StorageBackend {
+    private final Path root;
+
+    public LocalStorageBackend(@Value("${dms.storage.local.root:uploads}") String root) {
+        this.root = Paths.get(root);
+    }
+
+    @Override
+    public void store(String key, Path source) throws IOException {
+        Path target = shardedPath(key);
+        Files.createDirectories(target.getParent());
+        try {
+            Files.move(source, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(source, target, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    @Override
+    public InputStream open(String key) throws IOException {
+        return Files.newInputStream(locate(key));
+    }
+
+    @Override
+    public boolean exists(String key) {
+        return Files.exists(shardedPath(key)) || Files.exists(legacyPath(key));
+    }
+
+    @Override
+    public long size(String key) throws IOException {
+        return Files.size(locate(key));
+    }
+
+    @Override
+    public void delete(String key) throws IOException {
+        Files.deleteIfExists(shardedPath(key));
+        Files.deleteIfExists(legacyPath(key));
+    }
+
+    // 하위 디렉터리와 이전 형식 위치의 파일을 모두 나열 (".staging" 등 숨김 경로 제외)
+    @Override
+    public Stream<String> listKeys() throws IOException {
+        if (!Files.isDirectory(root)) {
+            return Stream.empty();
+        }
+        return Files.walk(root)
+                .filter(Files::isRegularFile)
+                .filter(path -> !isHidden(root.relativize(path)))
+                .map(path -> path.getFileName().toString());
+    }
+
+    @Override
+    public Optional<Path> resolveLocalPath(String key) {
+        Path path = locate(key);
+        return Files.exists(path) ? Optional.of(path) : Optional.empty();
+    }
+
+    /**
+     * root 바로 아래의 이전 형식 파일을 하위 디렉터리로 옮깁니다.
+     * 이미 옮겨졌거나 파일이 없으면 false를 반환합니다.
+     */
+    public boolean relocateLegacy(String key) throws IOException {
+        Path legacy = legacyPath(key);
+        if (!Files.exists(legacy)) {
+            return false;
+        }
+        store(key, legacy);
+        return true;
+    }
+
+    public Path getRoot() {
+        return root;
+    }
+
+    private Path locate(String key) {
+        Path sharded = shardedPath(key);
+        if (Files.exists(sharded)) {
+            return sharded;
+        }
+        Path legacy = legacyPath(key);
+        return Files.exists(legacy) ? legacy : sharded;
+    }
+
+    private Path shardedPath(String key) {
+        validateKey(key);
+        if (key.length() < 4) {
+            return root.resolve(key);
+        }
+        return root.resolve(key.substring(0, 2)).resolve(key.substring(2, 4)).resolve(key);
+    }
+
+    private Path legacyPath(String key) {
+        validateKey(key);
+        return root.resolve(key);
+    }
+
+    private boolean isHidden(Path relativePath) {
+        for (Path part : relativePath) {
+            if (part.toString().startsWith(".")) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void validateKey(String key) {
+        if (key == null || key.isEmpty() || key.contains("/") || key.contains("\\") || key.startsWith(".")) {
+            throw new IllegalArgumentException("잘못된 저장소 키입니다: " + key);
+        }
+    }
+}
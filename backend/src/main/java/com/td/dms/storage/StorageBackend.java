@@ -0,0 +1,32 @@
+package com.td.dms.storage;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Path;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+/**
+ * 첨부파일 바이트를 보관하는 저장소.
+ * key는 저장소 기준의 상대 키(blob 해시 등)이며 실제 위치는 구현체가 결정합니다.
+ */
+public interface StorageBackend {
+    // 로컬 임시 파일을 key 위치로 옮김 (같은 key가 있으면 덮어씀, 원본 파일은 사라짐)
+    void store(String key, Path source) throws IOException;
+
+    InputStream open(String key) throws IOException;
+
+    boolean exists(String key);
+
+    long size(String key) throws IOException;
+
+    void delete(String key) throws IOException;
+
+    // 저장된 모든 key (정합성 점검용, 사용 후 닫아야 함)
+    Stream<String> listKeys() throws IOException;
+
+    // 로컬 디스크에 있는 경우 실제 경로 (sendfile 등 zero-copy 전송용)
+    default Optional<Path> resolveLocalPath(String key) {
+        return Optional.empty();
+    }
+}
@@ -0,0 +1,113 @@
+package com.td.dms.util;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.List;
+import java.util.function.Function;
+
+import com.td.dms.dto.CursorPage;
+
+/**
+ * 커서 기반 페이지의 이어보기 토큰.
+ * 마지막 항목의 (작성 시각, id)를 담은 불투명한 문자열로, 다음 페이지는 그 위치 다음부터 인덱스를 타고 읽습니다.
+ * 검색 결과처럼 점수 순으로 정렬된 목록은 (점수, id)를 담습니다.
+ */
+public final class CursorUtil {
+    public static final int MAX_SIZE = 100;
+
+    // 커서 없이 요청한 첫 페이지의 기준 위치 (최신 순 / 오래된 순)
+    public static final Position NEWEST = new Position(LocalDateTime.of(9999, 12, 31, 23, 59, 59), Long.MAX_VALUE);
+    public static final Position OLDEST = new Position(LocalDateTime.of(1000, 1, 1, 0, 0), 0L);
+
+    private static final String TIME = "t";
+    private static final String SCORE = "s";
+
+    private CursorUtil() {
+    }
+
+    public record Position(LocalDateTime createdAt, Long id) {
+    }
+
+    public record ScorePosition(double score, long id) {
+    }
+
+    public static String encode(LocalDateTime createdAt, Long id) {
+        return encode(TIME + "|" + createdAt + "|" + id);
+    }
+
+    public static String encodeScore(double score, long id) {
+        return encode(SCORE + "|" + Long.toHexString(Double.doubleToLongBits(score)) + "|" + id);
+    }
+
+    // 커서가 없으면 first를 반환
+    public static Position decode(String cursor, Position first) {
+        if (cursor == null || cursor.isBlank()) {
+            return first;
+        }
+        String[] parts = decodeParts(cursor);
+        if (!TIME.equals(parts[0])) {
+            throw new RuntimeException("잘못된 커서입니다.");
+        }
+        try {
+            return new Position(LocalDateTime.parse(parts[1]), Long.parseLong(parts[2]));
+        } catch (RuntimeException e) {
+            throw new RuntimeException("잘못된 커서입니다.");
+        }
+    }
+
+    // 첫 페이지면 null
+    public static ScorePosition decodeScore(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return null;
+        }
+        String[] parts = decodeParts(cursor);
+        if (!SCORE.equals(parts[0])) {
+            throw new RuntimeException("잘못된 커서입니다.");
+        }
+        try {
+            return new ScorePosition(Double.longBitsToDouble(Long.parseUnsignedLong(parts[1], 16)),
+                    Long.parseLong(parts[2]));
+        } catch (RuntimeException e) {
+            throw new RuntimeException("잘못된 커서입니다.");
+        }
+    }
+
+    // (작성 시각, id) 커서인지 (점수 순 목록이 시각 순으로 시작된 경우를 구분할 때 사용)
+    public static boolean isTimeCursor(String cursor) {
+        return cursor != null && !cursor.isBlank() && TIME.equals(decodeParts(cursor)[0]);
+    }
+
+    // 요청한 크기를 1 ~ MAX_SIZE로 제한
+    public static int size(int size) {
+        return Math.max(1, Math.min(size, MAX_SIZE));
+    }
+
+    /**
+     * size + 1개까지 조회한 결과로 페이지를 만듭니다. 한 개가 더 있으면 다음 페이지가 있는 것으로 보고
+     * 이 페이지의 마지막 항목으로 커서를 만듭니다.
+     */
+    public static <E, T> CursorPage<T> page(List<E> rows, int size, Function<E, String> cursorOf,
+            Function<List<E>, List<T>> mapper, Long total) {
+        boolean hasNext = rows.size() > size;
+        List<E> pageRows = hasNext ? rows.subList(0, size) : rows;
+        String nextCursor = hasNext ? cursorOf.apply(pageRows.get(pageRows.size() - 1)) : null;
+        return new CursorPage<>(mapper.apply(pageRows), nextCursor, total);
+    }
+
+    private static String encode(String value) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String[] decodeParts(String cursor) {
+        try {
+            String[] parts = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8).split("\\|");
+            if (parts.length == 3) {
+                return parts;
+            }
+        } catch (IllegalArgumentException e) {
+            // 아래에서 같은 오류로 처리
+        }
+        throw new RuntimeException("잘못된 커서입니다.");
+    }
+}
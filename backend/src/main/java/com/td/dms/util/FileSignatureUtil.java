@@ -0,0 +1,52 @@
+package com.td.dms.util;
+
+import java.util.Map;
+
+public final class FileSignatureUtil {
+    // 파일 앞부분 시그니처를 검사하기 위해 필요한 최대 바이트 수
+    public static final int SIGNATURE_LENGTH = 8;
+
+    private static final byte[] PDF = { 0x25, 0x50, 0x44, 0x46 }; // %PDF
+    private static final byte[] OLE2 = { (byte) 0xD0, (byte) 0xCF, 0x11, (byte) 0xE0,
+            (byte) 0xA1, (byte) 0xB1, 0x1A, (byte) 0xE1 }; // doc, xls
+    private static final byte[] ZIP = { 0x50, 0x4B, 0x03, 0x04 }; // docx, xlsx
+
+    private static final Map<String, String> CONTENT_TYPES = Map.of(
+            ".pdf", "application/pdf",
+            ".doc", "application/msword",
+            ".xls", "application/vnd.ms-excel",
+            ".docx", "application/vnd.openxmlformats-officedocument.wordprocessingml.document",
+            ".xlsx", "application/vnd.openxmlformats-officedocument.spreadsheetml.sheet");
+
+    private FileSignatureUtil() {
+    }
+
+    /**
+     * 파일 시그니처(매직 바이트)와 확장자가 일치하면 Content-Type을 반환하고, 일치하지 않으면 null을 반환합니다.
+     */
+    public static String detectContentType(byte[] signature, int length, String extension) {
+        String ext = extension.toLowerCase();
+        byte[] expected = switch (ext) {
+            case ".pdf" -> PDF;
+            case ".doc", ".xls" -> OLE2;
+            case ".docx", ".xlsx" -> ZIP;
+            default -> null;
+        };
+        if (expected == null || !startsWith(signature, length, expected)) {
+            return null;
+        }
+        return CONTENT_TYPES.get(ext);
+    }
+
+    private static boolean startsWith(byte[] signature, int length, byte[] expected) {
+        if (length < expected.length) {
+            return false;
+        }
+        for (int i = 0; i < expected.length; i++) {
+            if (signature[i] != expected[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,333 @@
+package com.td.dms.util;
+
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpRange;
+import org.springframework.util.MimeTypeUtils;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * 파일을 HTTP Range(206 Partial Content) 규칙에 맞게 응답으로 전송합니다.
+ * 전체 또는 단일 구간은 Tomcat이 sendfile을 지원하면 커널에서 바로 보내고(zero-copy),
+ * 그렇지 않거나 여러 구간이면 FileChannel.transferTo로 응답 스트림에 씁니다 (서블릿 출력 버퍼를 거쳐 복사됨).
+ * 여러 구간 요청은 겹치거나 맞닿은 구간을 합치고, 합친 뒤에도 MAX_RANGES개를 넘으면 Range를 무시하고 전체를 보냅니다.
+ * 형식이 잘못된 Range 헤더도 무시하고, 파일 범위를 벗어난 구간만 416으로 응답합니다.
+ */
+public final class RangeResponseUtil {
+    // Tomcat이 sendfile 지원 여부와 전송 구간을 주고받는 요청 속성
+    private static final String SENDFILE_SUPPORTED_ATTR = "org.apache.tomcat.sendfile.support";
+    private static final String SENDFILE_FILENAME_ATTR = "org.apache.tomcat.sendfile.filename";
+    private static final String SENDFILE_START_ATTR = "org.apache.tomcat.sendfile.start";
+    private static final String SENDFILE_END_ATTR = "org.apache.tomcat.sendfile.end";
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+    // 한 응답에 담는 최대 구간 수 (겹친 구간을 여러 개 보내 같은 바이트를 반복 전송하게 하는 요청 방지)
+    static final int MAX_RANGES = 16;
+
+    // 전송할 때마다 원본 스트림을 새로 여는 함수
+    @FunctionalInterface
+    public interface StreamOpener {
+        InputStream open() throws IOException;
+    }
+
+    private RangeResponseUtil() {
+    }
+
+    public static void writeFile(HttpServletRequest request, HttpServletResponse response, Path path,
+            String contentType, String fileName, String eTag) throws IOException {
+        long length = Files.size(path);
+        long lastModified = Files.getLastModifiedTime(path).toMillis();
+
+        response.setHeader(HttpHeaders.ACCEPT_RANGES, "bytes");
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION,
+                ContentDisposition.attachment().filename(fileName, StandardCharsets.UTF_8).build().toString());
+        if (new ServletWebRequest(request, response).checkNotModified(eTag, lastModified)) {
+            return;
+        }
+
+        List<ByteRange> ranges = List.of();
+        String rangeHeader = request.getHeader(HttpHeaders.RANGE);
+        List<HttpRange> requested = rangeHeader != null && isIfRangeSatisfied(request, eTag, lastModified)
+                ? parseRanges(rangeHeader) : List.of();
+        if (!requested.isEmpty()) {
+            try {
+                ranges = mergeRanges(requested, length);
+            } catch (IllegalArgumentException e) {
+                response.setStatus(HttpServletResponse.SC_REQUESTED_RANGE_NOT_SATISFIABLE);
+                response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes */" + length);
+                return;
+            }
+            if (ranges.size() > MAX_RANGES) {
+                ranges = List.of();
+            }
+        }
+
+        boolean headRequest = "HEAD".equalsIgnoreCase(request.getMethod());
+        if (ranges.isEmpty()) {
+            response.setStatus(HttpServletResponse.SC_OK);
+            response.setContentType(contentType);
+            response.setContentLengthLong(length);
+            if (!headRequest) {
+                transfer(request, response, path, 0, length, true);
+            }
+        } else if (ranges.size() == 1) {
+            long start = ranges.get(0).start();
+            long end = ranges.get(0).end();
+            response.setStatus(HttpServletResponse.SC_PARTIAL_CONTENT);
+            response.setContentType(contentType);
+            response.setHeader(HttpHeaders.CONTENT_RANGE, contentRange(start, end, length));
+            response.setContentLengthLong(end - start + 1);
+            if (!headRequest) {
+                transfer(request, response, path, start, end - start + 1, true);
+            }
+        } else {
+            String boundary = MimeTypeUtils.generateMultipartBoundaryString();
+            response.setStatus(HttpServletResponse.SC_PARTIAL_CONTENT);
+            response.setContentType("multipart/byteranges; boundary=" + boundary);
+            if (headRequest) {
+                return;
+            }
+            ServletOutputStream out = response.getOutputStream();
+            for (ByteRange range : ranges) {
+                long start = range.start();
+                long end = range.end();
+                String partHeader = "\r\n--" + boundary + "\r\n"
+                        + HttpHeaders.CONTENT_TYPE + ": " + contentType + "\r\n"
+                        + HttpHeaders.CONTENT_RANGE + ": " + contentRange(start, end, length) + "\r\n\r\n";
+                out.write(partHeader.getBytes(StandardCharsets.US_ASCII));
+                transfer(request, response, path, start, end - start + 1, false);
+            }
+            out.write(("\r\n--" + boundary + "--\r\n").getBytes(StandardCharsets.US_ASCII));
+        }
+    }
+
+    /**
+     * 로컬 경로가 없거나 압축 저장된 파일처럼 스트림으로만 읽을 수 있는 원본의 전송.
+     * 단일 구간은 앞부분을 건너뛰어 전송하고, 여러 구간 요청은 전체를 전송합니다.
+     */
+    public static void writeStream(HttpServletRequest request, HttpServletResponse response, StreamOpener opener,
+            long length, String contentType, String fileName, String eTag) throws IOException {
+        response.setHeader(HttpHeaders.ACCEPT_RANGES, "bytes");
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION,
+                ContentDisposition.attachment().filename(fileName, StandardCharsets.UTF_8).build().toString());
+        if (new ServletWebRequest(request, response).checkNotModified(eTag)) {
+            return;
+        }
+
+        HttpRange range = null;
+        String rangeHeader = request.getHeader(HttpHeaders.RANGE);
+        List<HttpRange> ranges = rangeHeader != null && isIfRangeSatisfied(request, eTag, -1)
+                ? parseRanges(rangeHeader) : List.of();
+        if (!ranges.isEmpty()) {
+            try {
+                for (HttpRange r : ranges) {
+                    r.getRangeStart(length);
+                }
+                if (ranges.size() == 1) {
+                    range = ranges.get(0);
+                }
+            } catch (IllegalArgumentException e) {
+                response.setStatus(HttpServletResponse.SC_REQUESTED_RANGE_NOT_SATISFIABLE);
+                response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes */" + length);
+                return;
+            }
+        }
+
+        long start = 0;
+        long count = length;
+        response.setContentType(contentType);
+        if (range == null) {
+            response.setStatus(HttpServletResponse.SC_OK);
+        } else {
+            start = range.getRangeStart(length);
+            long end = range.getRangeEnd(length);
+            count = end - start + 1;
+            response.setStatus(HttpServletResponse.SC_PARTIAL_CONTENT);
+            response.setHeader(HttpHeaders.CONTENT_RANGE, contentRange(start, end, length));
+        }
+        response.setContentLengthLong(count);
+        if ("HEAD".equalsIgnoreCase(request.getMethod())) {
+            return;
+        }
+
+        try (InputStream inputStream = opener.open()) {
+            inputStream.skipNBytes(start);
+            copy(inputStream, response.getOutputStream(), count);
+        }
+    }
+
+    /**
+     * 저장된 인코딩(gzip 등) 그대로 Content-Encoding을 붙여 전송합니다. 구간 요청이 없을 때만 사용합니다.
+     * path가 있으면 sendfile로, 없으면 스트림으로 보냅니다.
+     */
+    public static void writeEncoded(HttpServletRequest request, HttpServletResponse response, Path path,
+            StreamOpener opener, long encodedLength, String encoding, String contentType, String fileName,
+            String eTag) throws IOException {
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION,
+                ContentDisposition.attachment().filename(fileName, StandardCharsets.UTF_8).build().toString());
+        if (new ServletWebRequest(request, response).checkNotModified(eTag)) {
+            return;
+        }
+
+        response.setStatus(HttpServletResponse.SC_OK);
+        response.setContentType(contentType);
+        response.setHeader(HttpHeaders.CONTENT_ENCODING, encoding);
+        response.setContentLengthLong(encodedLength);
+        if ("HEAD".equalsIgnoreCase(request.getMethod())) {
+            return;
+        }
+        if (path != null) {
+            transfer(request, response, path, 0, encodedLength, true);
+            return;
+        }
+        try (InputStream inputStream = opener.open()) {
+            copy(inputStream, response.getOutputStream(), encodedLength);
+        }
+    }
+
+    // Accept-Encoding에 해당 인코딩(또는 *)이 q=0이 아닌 값으로 들어 있는지
+    public static boolean acceptsEncoding(HttpServletRequest request, String encoding) {
+        String acceptEncoding = request.getHeader(HttpHeaders.ACCEPT_ENCODING);
+        if (acceptEncoding == null) {
+            return false;
+        }
+        for (String token : acceptEncoding.split(",")) {
+            String[] parts = token.trim().split(";");
+            String name = parts[0].trim();
+            if (!name.equalsIgnoreCase(encoding) && !name.equals("*")) {
+                continue;
+            }
+            boolean rejected = false;
+            for (int i = 1; i < parts.length; i++) {
+                String param = parts[i].trim();
+                if (param.startsWith("q=")) {
+                    try {
+                        rejected = Double.parseDouble(param.substring(2)) == 0;
+                    } catch (NumberFormatException e) {
+                        rejected = true;
+                    }
+                }
+            }
+            if (!rejected) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * 요청한 구간을 시작 위치 순으로 정렬하고 겹치거나 맞닿은 구간을 합칩니다.
+     * 합친 구간은 서로 겹치지 않으므로 전송량이 파일 크기를 넘지 않습니다.
+     *
+     * @throws IllegalArgumentException 파일 범위를 벗어난 구간이 있으면 (416 응답)
+     */
+    static List<ByteRange> mergeRanges(List<HttpRange> ranges, long length) {
+        List<ByteRange> sorted = new ArrayList<>(ranges.size());
+        for (HttpRange range : ranges) {
+            sorted.add(new ByteRange(range.getRangeStart(length), range.getRangeEnd(length)));
+        }
+        sorted.sort(Comparator.comparingLong(ByteRange::start));
+
+        List<ByteRange> merged = new ArrayList<>(sorted.size());
+        for (ByteRange range : sorted) {
+            ByteRange last = merged.isEmpty() ? null : merged.get(merged.size() - 1);
+            if (last != null && range.start() <= last.end() + 1) {
+                merged.set(merged.size() - 1, new ByteRange(last.start(), Math.max(last.end(), range.end())));
+            } else {
+                merged.add(range);
+            }
+        }
+        return merged;
+    }
+
+    // 바이트 구간 (end 포함)
+    record ByteRange(long start, long end) {
+    }
+
+    // 형식이 잘못된 Range 헤더는 무시하고 전체를 전송 (RFC 9110 14.2, 범위를 벗어난 구간만 416)
+    private static List<HttpRange> parseRanges(String rangeHeader) {
+        try {
+            return HttpRange.parseRanges(rangeHeader);
+        } catch (IllegalArgumentException e) {
+            return List.of();
+        }
+    }
+
+    // If-Range가 없거나 현재 파일과 일치할 때만 Range 요청을 적용 (아니면 전체 전송)
+    private static boolean isIfRangeSatisfied(HttpServletRequest request, String eTag, long lastModified) {
+        String ifRange = request.getHeader(HttpHeaders.IF_RANGE);
+        if (ifRange == null) {
+            return true;
+        }
+        if (ifRange.startsWith("\"") || ifRange.startsWith("W/")) {
+            // If-Range는 강한 비교만 허용
+            return ifRange.equals(eTag);
+        }
+        if (lastModified < 0) {
+            return false;
+        }
+        try {
+            return request.getDateHeader(HttpHeaders.IF_RANGE) / 1000 == lastModified / 1000;
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+    }
+
+    private static void copy(InputStream inputStream, OutputStream outputStream, long count) throws IOException {
+        byte[] buffer = new byte[BUFFER_SIZE];
+        long remaining = count;
+        while (remaining > 0) {
+            int read = inputStream.read(buffer, 0, (int) Math.min(buffer.length, remaining));
+            if (read == -1) {
+                break;
+            }
+            outputStream.write(buffer, 0, read);
+            remaining -= read;
+        }
+    }
+
+    private static String contentRange(long start, long end, long length) {
+        return "bytes " + start + "-" + end + "/" + length;
+    }
+
+    private static void transfer(HttpServletRequest request, HttpServletResponse response, Path path,
+            long position, long count, boolean sendfileAllowed) throws IOException {
+        // 전체나 단일 구간은 Tomcat에 넘겨 커널 sendfile로 전송
+        if (sendfileAllowed && Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORTED_ATTR))) {
+            request.setAttribute(SENDFILE_FILENAME_ATTR, path.toAbsolutePath().toString());
+            request.setAttribute(SENDFILE_START_ATTR, position);
+            request.setAttribute(SENDFILE_END_ATTR, position + count);
+            return;
+        }
+
+        // sendfile을 쓸 수 없으면 응답 스트림으로 전송 (서블릿 출력 버퍼를 거치므로 zero-copy는 아님)
+        WritableByteChannel target = Channels.newChannel(response.getOutputStream());
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long transferred = 0;
+            while (transferred < count) {
+                long n = channel.transferTo(position + transferred, count - transferred, target);
+                if (n <= 0) {
+                    break;
+                }
+                transferred += n;
+            }
+        }
+    }
+}
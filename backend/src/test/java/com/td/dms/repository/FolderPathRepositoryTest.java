@@ -0,0 +1,83 @@
+package com.td.dms.repository;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+
+@DataJpaTest
+class FolderPathRepositoryTest {
+    @Autowired
+    private FolderPathRepository folderPathRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    // 1 ─ 2 ─ 3, 4 (최상위)
+    @BeforeEach
+    void setUp() {
+        create(1L, null);
+        create(2L, 1L);
+        create(3L, 2L);
+        create(4L, null);
+    }
+
+    @Test
+    void createLinksNewFolderToAllAncestors() {
+        assertEquals(Set.of("1-1-0", "2-2-0", "3-3-0", "4-4-0", "1-2-1", "2-3-1", "1-3-2"), paths());
+        assertTrue(folderPathRepository.existsByAncestorIdAndDescendantId(1L, 3L));
+        assertFalse(folderPathRepository.existsByAncestorIdAndDescendantId(3L, 1L));
+        assertTrue(folderPathRepository.existsByAncestorIdAndDepth(1L, 1));
+        assertFalse(folderPathRepository.existsByAncestorIdAndDepth(3L, 1));
+    }
+
+    @Test
+    void moveSubtreeUnderAnotherFolder() {
+        folderPathRepository.detachSubtree(2L);
+        folderPathRepository.attachSubtree(2L, 4L);
+
+        assertEquals(Set.of("1-1-0", "2-2-0", "3-3-0", "4-4-0", "2-3-1", "4-2-1", "4-3-2"), paths());
+    }
+
+    @Test
+    void moveSubtreeToRootKeepsInternalPaths() {
+        folderPathRepository.detachSubtree(2L);
+
+        assertEquals(Set.of("1-1-0", "2-2-0", "3-3-0", "4-4-0", "2-3-1"), paths());
+    }
+
+    @Test
+    void deleteSubtreeRemovesAllPathsToDescendants() {
+        List<Long> folderIds = folderPathRepository.findDescendantIds(2L);
+        assertEquals(Set.of(2L, 3L), new HashSet<>(folderIds));
+
+        folderPathRepository.deleteByDescendantIdIn(folderIds);
+
+        assertEquals(Set.of("1-1-0", "4-4-0"), paths());
+    }
+
+    private void create(Long folderId, Long parentId) {
+        folderPathRepository.insertSelfPath(folderId);
+        if (parentId != null) {
+            folderPathRepository.insertAncestorPaths(folderId, parentId);
+        }
+    }
+
+    // "조상-자손-깊이" 목록
+    private Set<String> paths() {
+        entityManager.clear();
+        return folderPathRepository.findAll().stream()
+                .map(path -> path.getAncestorId() + "-" + path.getDescendantId() + "-" + path.getDepth())
+                .collect(Collectors.toSet());
+    }
+}
@@ -0,0 +1,124 @@
+package com.td.dms.search;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+class InvertedIndexTest {
+    private static final String TITLE = "title";
+    private static final String CONTENT = "content";
+    private static final Map<String, Double> BOTH = Map.of(TITLE, 1.0, CONTENT, 1.0);
+
+    private final InvertedIndex index = new InvertedIndex(new StandardAnalyzer(), TITLE, CONTENT);
+
+    @Test
+    void ranksByTermFrequencyAndLength() {
+        index.index(1, Map.of(TITLE, "", CONTENT, "report draft with many other unrelated words in it"));
+        index.index(2, Map.of(TITLE, "", CONTENT, "report report"));
+        index.index(3, Map.of(TITLE, "", CONTENT, "meeting notes"));
+
+        SearchResult result = index.search("report", BOTH, id -> true, 0, 10);
+
+        assertEquals(2, result.total());
+        assertEquals(List.of(2L, 1L), ids(result));
+    }
+
+    @Test
+    void fieldBoostChangesOrder() {
+        index.index(1, Map.of(TITLE, "budget", CONTENT, "plan"));
+        index.index(2, Map.of(TITLE, "plan", CONTENT, "budget"));
+
+        assertEquals(List.of(1L, 2L), ids(index.search("budget", Map.of(TITLE, 3.0, CONTENT, 1.0), id -> true, 0, 10)));
+        assertEquals(List.of(2L, 1L), ids(index.search("budget", Map.of(TITLE, 1.0, CONTENT, 3.0), id -> true, 0, 10)));
+    }
+
+    @Test
+    void prefixMatchesScoreBelowExactMatches() {
+        index.index(1, Map.of(TITLE, "documents", CONTENT, ""));
+        index.index(2, Map.of(TITLE, "document", CONTENT, ""));
+
+        SearchResult result = index.search("document", BOTH, id -> true, 0, 10);
+
+        assertEquals(List.of(2L, 1L), ids(result));
+        assertTrue(result.hits().get(0).score() > result.hits().get(1).score());
+    }
+
+    @Test
+    void filterExcludesDocumentsFromHitsAndTotal() {
+        index.index(1, Map.of(TITLE, "invoice", CONTENT, ""));
+        index.index(2, Map.of(TITLE, "invoice", CONTENT, ""));
+
+        SearchResult result = index.search("invoice", BOTH, id -> id == 2, 0, 10);
+
+        assertEquals(1, result.total());
+        assertEquals(List.of(2L), ids(result));
+    }
+
+    @Test
+    void reindexReplacesAndRemoveDeletes() {
+        index.index(1, Map.of(TITLE, "alpha", CONTENT, ""));
+        index.index(1, Map.of(TITLE, "beta", CONTENT, ""));
+
+        assertEquals(0, index.search("alpha", BOTH, id -> true, 0, 10).total());
+        assertEquals(List.of(1L), ids(index.search("beta", BOTH, id -> true, 0, 10)));
+
+        index.remove(1);
+        assertEquals(0, index.search("beta", BOTH, id -> true, 0, 10).total());
+        assertEquals(0, index.size());
+    }
+
+    @Test
+    void offsetPagesAndSearchAfterPagesAgree() {
+        for (long id = 1; id <= 25; id++) {
+            index.index(id, Map.of(TITLE, "page", CONTENT, "filler ".repeat((int) id)));
+        }
+
+        List<Long> byOffset = new ArrayList<>();
+        for (int offset = 0; offset < 25; offset += 10) {
+            byOffset.addAll(ids(index.search("page", BOTH, id -> true, offset, 10)));
+        }
+        List<Long> byCursor = new ArrayList<>();
+        SearchHit after = null;
+        SearchResult page;
+        do {
+            page = index.searchAfter("page", BOTH, id -> true, after, 10);
+            byCursor.addAll(ids(page));
+            after = page.hits().isEmpty() ? null : page.hits().get(page.hits().size() - 1);
+        } while (page.hits().size() == 10);
+
+        assertEquals(25, byOffset.size());
+        assertEquals(byOffset, byCursor);
+        assertEquals(25L, index.search("page", BOTH, id -> true, 20, 10).total());
+    }
+
+    @Test
+    void emptyQueryReturnsNothing() {
+        index.index(1, Map.of(TITLE, "anything", CONTENT, ""));
+
+        assertEquals(SearchResult.empty(), index.search(" .. ", BOTH, id -> true, 0, 10));
+    }
+
+    @Test
+    void indexIfAbsentKeepsNewerEntryAndSkipsRowsRemovedDuringBuild() {
+        index.index(1, Map.of(TITLE, "updated", CONTENT, ""));
+        assertFalse(index.indexIfAbsent(1, Map.of(TITLE, "stale", CONTENT, "")));
+        assertEquals(List.of(1L), ids(index.search("updated", BOTH, id -> true, 0, 10)));
+
+        index.remove(2);
+        assertFalse(index.indexIfAbsent(2, Map.of(TITLE, "deleted", CONTENT, "")));
+        assertEquals(0, index.search("deleted", BOTH, id -> true, 0, 10).total());
+
+        index.finishBuild();
+        assertTrue(index.indexIfAbsent(3, Map.of(TITLE, "fresh", CONTENT, "")));
+    }
+
+    private static List<Long> ids(SearchResult result) {
+        return result.hits().stream().map(SearchHit::id).toList();
+    }
+}
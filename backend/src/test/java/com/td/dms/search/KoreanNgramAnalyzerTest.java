@@ -0,0 +1,75 @@
+package com.td.dms.search;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+class KoreanNgramAnalyzerTest {
+    private final KoreanNgramAnalyzer analyzer = new KoreanNgramAnalyzer(2, 3, true);
+
+    @Test
+    void splitsHangulIntoNgrams() {
+        assertEquals(List.of("문서", "서관", "관리", "문서관", "서관리"), analyzer.analyze("문서관리"));
+    }
+
+    @Test
+    void keepsShortHangulWordAsIs() {
+        assertEquals(List.of("책"), analyzer.analyze("책"));
+    }
+
+    @Test
+    void lowercasesLatinWordsAndSplitsScripts() {
+        assertEquals(List.of("pdf", "파일", "v2"), analyzer.analyze("PDF파일 V2"));
+    }
+
+    @Test
+    void indexKeepsNgramsOfNounsEndingInParticleSyllable() {
+        assertTrue(analyzer.analyze("고양이").contains("양이"));
+        assertTrue(analyzer.analyze("제주도").contains("주도"));
+    }
+
+    @Test
+    void queryStripsTrailingParticle() {
+        assertEquals(List.of("문서"), queryTerms("문서에서"));
+        assertEquals(List.of("고양", "양이", "고양이"), queryTerms("고양이를"));
+    }
+
+    @Test
+    void queryKeepsWordWhenStemWouldBeTooShort() {
+        assertEquals(List.of("나이"), queryTerms("나이"));
+        assertEquals(List.of("양이"), queryTerms("양이"));
+    }
+
+    @Test
+    void queryKeepsParticleWhenStrippingIsDisabled() {
+        KoreanNgramAnalyzer noStrip = new KoreanNgramAnalyzer(2, 3, false);
+        List<String> terms = new ArrayList<>();
+        noStrip.analyzeQuery("문서에서", terms::add);
+        assertTrue(terms.contains("에서"));
+    }
+
+    @Test
+    void ignoresNullAndPunctuation() {
+        assertTrue(analyzer.analyze(null).isEmpty());
+        assertTrue(analyzer.analyze(" .,!? ").isEmpty());
+        assertFalse(analyzer.analyze("회의-록").contains("의록"));
+    }
+
+    @Test
+    void rejectsInvalidGramRange() {
+        assertThrows(IllegalArgumentException.class, () -> new KoreanNgramAnalyzer(3, 2, true));
+        assertThrows(IllegalArgumentException.class, () -> new KoreanNgramAnalyzer(0, 2, true));
+    }
+
+    private List<String> queryTerms(String text) {
+        List<String> terms = new ArrayList<>();
+        analyzer.analyzeQuery(text, terms::add);
+        return terms;
+    }
+}
@@ -0,0 +1,104 @@
+package com.td.dms.search;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+class PrefixSuggesterTest {
+    private static final long ALICE = 1L;
+    private static final long BOB = 2L;
+
+    private final PrefixSuggester suggester = new PrefixSuggester();
+
+    @Test
+    void matchesPrefixOfAnyWordIgnoringCase() {
+        suggester.put(10, ALICE, "2024 회의록");
+        suggester.put(11, ALICE, "Weekly Report");
+
+        assertEquals(List.of(new Suggestion(10, "2024 회의록")), suggester.suggest(ALICE, "회의", 10));
+        assertEquals(List.of(new Suggestion(10, "2024 회의록")), suggester.suggest(ALICE, "2024 회", 10));
+        assertEquals(List.of(new Suggestion(11, "Weekly Report")), suggester.suggest(ALICE, "REP", 10));
+        assertTrue(suggester.suggest(ALICE, "eport", 10).isEmpty());
+    }
+
+    @Test
+    void shorterTitlesComeFirstAndLimitApplies() {
+        suggester.put(1, ALICE, "plan b");
+        suggester.put(2, ALICE, "plan");
+        suggester.put(3, ALICE, "planning");
+
+        assertEquals(List.of(2L, 1L, 3L), ids(suggester.suggest(ALICE, "plan", 10)));
+        assertEquals(List.of(2L, 1L), ids(suggester.suggest(ALICE, "plan", 2)));
+        assertTrue(suggester.suggest(ALICE, "plan", 0).isEmpty());
+        assertTrue(suggester.suggest(ALICE, "  ", 10).isEmpty());
+    }
+
+    @Test
+    void itemAppearsOnceEvenIfSeveralWordsMatch() {
+        suggester.put(1, ALICE, "budget budget budget");
+
+        assertEquals(List.of(1L), ids(suggester.suggest(ALICE, "bud", 10)));
+    }
+
+    @Test
+    void ownersDoNotSeeEachOthersItems() {
+        suggester.put(1, ALICE, "secret plan");
+        suggester.put(2, PrefixSuggester.SHARED, "shared plan");
+
+        assertEquals(List.of(1L), ids(suggester.suggest(ALICE, "secret", 10)));
+        assertTrue(suggester.suggest(BOB, "secret", 10).isEmpty());
+        assertEquals(List.of(2L), ids(suggester.suggest(PrefixSuggester.SHARED, "plan", 10)));
+    }
+
+    @Test
+    void putReplacesTitleAndOwner() {
+        suggester.put(1, ALICE, "draft");
+        suggester.put(1, BOB, "final");
+
+        assertTrue(suggester.suggest(ALICE, "draft", 10).isEmpty());
+        assertTrue(suggester.suggest(BOB, "draft", 10).isEmpty());
+        assertEquals(List.of(1L), ids(suggester.suggest(BOB, "final", 10)));
+        assertEquals(1, suggester.size());
+    }
+
+    @Test
+    void removeDeletesItem() {
+        suggester.put(1, ALICE, "draft");
+        suggester.remove(1);
+
+        assertTrue(suggester.suggest(ALICE, "draft", 10).isEmpty());
+        assertEquals(0, suggester.size());
+    }
+
+    @Test
+    void prefixLongerThanKeyIsCheckedAgainstTitle() {
+        String common = "quarterly financial statement ";
+        suggester.put(1, ALICE, common + "north");
+        suggester.put(2, ALICE, common + "south");
+
+        assertEquals(List.of(2L), ids(suggester.suggest(ALICE, common + "so", 10)));
+    }
+
+    @Test
+    void buildDoesNotOverwriteNewerChangesOrRestoreDeletedItems() {
+        suggester.put(1, ALICE, "renamed");
+        suggester.putIfAbsent(1, ALICE, "original");
+        assertEquals(List.of(new Suggestion(1, "renamed")), suggester.suggest(ALICE, "ren", 10));
+
+        suggester.remove(2);
+        suggester.putIfAbsent(2, ALICE, "deleted");
+        assertTrue(suggester.suggest(ALICE, "deleted", 10).isEmpty());
+
+        suggester.finishBuild();
+        suggester.remove(3);
+        suggester.putIfAbsent(3, ALICE, "recreated");
+        assertEquals(List.of(3L), ids(suggester.suggest(ALICE, "recreated", 10)));
+    }
+
+    private static List<Long> ids(List<Suggestion> suggestions) {
+        return suggestions.stream().map(Suggestion::id).toList();
+    }
+}
@@ -0,0 +1,37 @@
+package com.td.dms.search;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+class StandardAnalyzerTest {
+    private final StandardAnalyzer analyzer = new StandardAnalyzer();
+
+    @Test
+    void splitsOnNonWordCharactersAndLowercases() {
+        assertEquals(List.of("hello", "world", "2024"), analyzer.analyze("Hello, World! 2024"));
+    }
+
+    @Test
+    void keepsHangulWordsWhole() {
+        assertEquals(List.of("문서관리에서", "검색"), analyzer.analyze("문서관리에서 검색"));
+    }
+
+    @Test
+    void queryIsAnalyzedLikeIndexedText() {
+        List<String> terms = new ArrayList<>();
+        analyzer.analyzeQuery("Report_v2.pdf", terms::add);
+        assertEquals(analyzer.analyze("Report_v2.pdf"), terms);
+    }
+
+    @Test
+    void ignoresNullAndEmptyText() {
+        assertTrue(analyzer.analyze(null).isEmpty());
+        assertTrue(analyzer.analyze("").isEmpty());
+        assertTrue(analyzer.analyze("  --  ").isEmpty());
+    }
+}
@@ -0,0 +1,200 @@
+package com.td.dms.storage;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDateTime;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.UUID;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.td.dms.entity.Document;
+import com.td.dms.entity.FileTombstone;
+import com.td.dms.entity.Role;
+import com.td.dms.entity.User;
+import com.td.dms.repository.DocumentRepository;
+import com.td.dms.repository.FileBlobRepository;
+import com.td.dms.repository.FileTombstoneRepository;
+import com.td.dms.repository.UserRepository;
+import com.td.dms.service.FileService;
+import com.td.dms.service.StagedFile;
+
+/**
+ * blob 참조 수, 삭제 예약(tombstone), GC 사이의 경합을 메모리 저장소로 확인합니다.
+ * 유예 시간은 기다리지 않고 created_at을 과거로 옮겨 흉내 냅니다. (스케줄 실행은 꺼 두고 sweep을 직접 호출)
+ */
+@SpringBootTest(properties = {
+        "dms.storage.type=memory",
+        "dms.storage.staging-dir=${java.io.tmpdir}/dms-gc-test-staging",
+        "dms.storage.gc.grace-period=1m",
+        "dms.storage.gc.sweep-interval=3600000",
+        "dms.storage.gc.reconcile-cron=-" })
+class FileGarbageCollectorTest {
+    private static final String BLOB_PAST_GRACE =
+            "UPDATE file_blobs SET created_at = ? WHERE hash = ?";
+    private static final String TOMBSTONE_PAST_GRACE =
+            "UPDATE file_tombstones SET created_at = ? WHERE storage_key = ?";
+
+    @Autowired
+    private FileService fileService;
+    @Autowired
+    private FileGarbageCollector garbageCollector;
+    @Autowired
+    private StorageBackend storageBackend;
+    @Autowired
+    private FileBlobRepository fileBlobRepository;
+    @Autowired
+    private FileTombstoneRepository fileTombstoneRepository;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private DocumentRepository documentRepository;
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private String username;
+    private Long documentId;
+    private byte[] content;
+    private String hash;
+
+    @BeforeEach
+    void setUp() {
+        User user = userRepository.save(new User(null, "gc-" + UUID.randomUUID(), "password", Role.USER));
+        Document document = new Document();
+        document.setTitle("문서");
+        document.setContent("내용");
+        document.setCreatedBy(user);
+        username = user.getUsername();
+        documentId = documentRepository.save(document).getId();
+
+        // 테스트마다 다른 내용 (다른 blob)
+        content = ("%PDF-1.4\n" + UUID.randomUUID()).getBytes(StandardCharsets.US_ASCII);
+        hash = sha256(content);
+    }
+
+    @Test
+    void reuploadCancelsTombstoneAndKeepsFile() throws IOException {
+        Long fileId = upload();
+        fileService.deleteFile(fileId);
+        assertTrue(fileTombstoneRepository.existsByStorageKey(hash));
+        assertFalse(fileBlobRepository.existsById(hash));
+
+        upload();
+        pastGrace(TOMBSTONE_PAST_GRACE);
+        garbageCollector.sweep();
+
+        assertFalse(fileTombstoneRepository.existsByStorageKey(hash));
+        assertEquals(1, fileBlobRepository.findById(hash).orElseThrow().getReferenceCount());
+        assertArrayEquals(content, read());
+    }
+
+    @Test
+    void sweepLosesToUploadThatCancelledTombstoneAfterItWasListed() throws IOException {
+        Long fileId = upload();
+        fileService.deleteFile(fileId);
+        pastGrace(TOMBSTONE_PAST_GRACE);
+        // GC가 삭제 대상을 읽은 뒤
+        FileTombstone listed = fileTombstoneRepository.findAll().stream()
+                .filter(tombstone -> tombstone.getStorageKey().equals(hash))
+                .findFirst().orElseThrow();
+
+        // 같은 내용의 업로드가 먼저 커밋되면
+        upload();
+
+        // GC는 tombstone을 가져가지 못하고 파일을 남김
+        assertFalse(garbageCollector.collect(listed));
+        assertTrue(storageBackend.exists(hash));
+        assertArrayEquals(content, read());
+    }
+
+    @Test
+    void uploadLosesToSweepThatDeletedTheFileAfterStaging() throws IOException {
+        Long fileId = upload();
+        // 같은 내용을 다시 올리는 요청이 1단계(저장소 기록)를 마친 뒤
+        List<StagedFile> staged = fileService.stageFiles(
+                List.of(new MockMultipartFile("files", "again.pdf", "application/pdf", content)));
+
+        // 마지막 참조가 지워지고 GC가 파일까지 지우면
+        fileService.deleteFile(fileId);
+        pastGrace(TOMBSTONE_PAST_GRACE);
+        garbageCollector.sweep();
+        assertFalse(storageBackend.exists(hash));
+
+        // 2단계는 사라진 파일을 참조하며 커밋하지 않고 충돌로 실패
+        assertThrows(RuntimeException.class, () -> transactionTemplate.executeWithoutResult(status -> {
+            User user = userRepository.findByUsername(username).orElseThrow();
+            Document document = documentRepository.findById(documentId).orElseThrow();
+            fileService.attachStaged(staged, user, document);
+        }));
+        assertFalse(fileBlobRepository.existsById(hash));
+    }
+
+    @Test
+    void unreferencedBlobFromRolledBackUploadIsCollectedOnlyAfterGracePeriod() throws IOException {
+        // 다른 사용자의 문서에 첨부하려다 2단계에서 롤백된 업로드 (blob 행은 1단계에서 참조 수 0으로 커밋됨)
+        User other = userRepository.save(new User(null, "gc-" + UUID.randomUUID(), "password", Role.USER));
+        assertThrows(RuntimeException.class, () -> fileService.uploadStream(new ByteArrayInputStream(content),
+                content.length, "rolled-back.pdf", other.getUsername(), documentId, null));
+        assertEquals(0, fileBlobRepository.findById(hash).orElseThrow().getReferenceCount());
+        assertTrue(storageBackend.exists(hash));
+
+        // 유예 시간 안에는 같은 내용의 업로드가 참조할 수 있으므로 남김
+        garbageCollector.sweep();
+        assertTrue(fileBlobRepository.existsById(hash));
+        assertTrue(storageBackend.exists(hash));
+
+        // 유예 시간이 지나면 blob 행을 지우고 삭제를 예약한 뒤, 예약의 유예 시간이 지나면 파일을 지움
+        pastGrace(BLOB_PAST_GRACE);
+        garbageCollector.sweep();
+        assertFalse(fileBlobRepository.existsById(hash));
+        assertTrue(fileTombstoneRepository.existsByStorageKey(hash));
+        assertTrue(storageBackend.exists(hash));
+
+        pastGrace(TOMBSTONE_PAST_GRACE);
+        garbageCollector.sweep();
+        assertFalse(fileTombstoneRepository.existsByStorageKey(hash));
+        assertFalse(storageBackend.exists(hash));
+    }
+
+    private Long upload() throws IOException {
+        return fileService.uploadStream(new ByteArrayInputStream(content), content.length, "file.pdf", username,
+                documentId, null).getId();
+    }
+
+    private void pastGrace(String sql) {
+        jdbcTemplate.update(sql, LocalDateTime.now().minusMinutes(2), hash);
+    }
+
+    private byte[] read() throws IOException {
+        try (InputStream inputStream = storageBackend.open(hash)) {
+            return inputStream.readAllBytes();
+        }
+    }
+
+    private static String sha256(byte[] bytes) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(bytes));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,11 @@
+package com.td.dms.storage;
+
+import java.nio.file.Path;
+
+class InMemoryStorageBackendTest extends StorageBackendContractTest {
+
+    @Override
+    protected StorageBackend createBackend(Path root) {
+        return new InMemoryStorageBackend();
+    }
+}
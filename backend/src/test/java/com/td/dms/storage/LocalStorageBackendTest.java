@@ -0,0 +1,72 @@
+package com.td.dms.storage;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.Test;
+
+class LocalStorageBackendTest extends StorageBackendContractTest {
+
+    @Override
+    protected StorageBackend createBackend(Path root) {
+        return new LocalStorageBackend(root.toString());
+    }
+
+    @Test
+    void storesUnderShardedDirectories() throws IOException {
+        LocalStorageBackend local = (LocalStorageBackend) backend;
+        Path source = Files.writeString(tempDir.resolve("upload.tmp"), "hello");
+
+        local.store("3fa9c2", source);
+
+        assertTrue(Files.exists(local.getRoot().resolve("3f").resolve("a9").resolve("3fa9c2")));
+        assertEquals(local.getRoot().resolve("3f").resolve("a9").resolve("3fa9c2"),
+                local.resolveLocalPath("3fa9c2").orElseThrow());
+    }
+
+    @Test
+    void readsAndRelocatesLegacyFiles() throws IOException {
+        LocalStorageBackend local = (LocalStorageBackend) backend;
+        Files.createDirectories(local.getRoot());
+        Path legacy = Files.writeString(local.getRoot().resolve("3fa9c2"), "legacy");
+
+        assertTrue(local.exists("3fa9c2"));
+        try (InputStream inputStream = local.open("3fa9c2")) {
+            assertArrayEquals("legacy".getBytes(), inputStream.readAllBytes());
+        }
+
+        assertTrue(local.relocateLegacy("3fa9c2"));
+        assertFalse(Files.exists(legacy));
+        assertFalse(local.relocateLegacy("3fa9c2"));
+        assertEquals(6, local.size("3fa9c2"));
+    }
+
+    @Test
+    void listKeysSkipsHiddenDirectories() throws IOException {
+        LocalStorageBackend local = (LocalStorageBackend) backend;
+        local.store("3fa9c2", Files.writeString(tempDir.resolve("upload.tmp"), "hello"));
+        Files.createDirectories(local.getRoot().resolve(".staging"));
+        Files.writeString(local.getRoot().resolve(".staging").resolve("partial"), "x");
+
+        try (Stream<String> keys = local.listKeys()) {
+            assertEquals(List.of("3fa9c2"), keys.toList());
+        }
+    }
+
+    @Test
+    void rejectsKeysThatEscapeRoot() {
+        assertThrows(IllegalArgumentException.class, () -> backend.exists("../etc"));
+        assertThrows(IllegalArgumentException.class, () -> backend.exists(".staging"));
+        assertThrows(IllegalArgumentException.class, () -> backend.exists(""));
+    }
+}
@@ -0,0 +1,96 @@
+package com.td.dms.storage;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * 모든 StorageBackend 구현이 지켜야 하는 동작.
+ * 구현체마다 이 클래스를 상속해 같은 테스트를 실행합니다.
+ */
+abstract class StorageBackendContractTest {
+    private static final String KEY = "3fa9c2d1e0";
+
+    @TempDir
+    Path tempDir;
+
+    protected StorageBackend backend;
+
+    protected abstract StorageBackend createBackend(Path root);
+
+    @BeforeEach
+    void setUpBackend() {
+        backend = createBackend(tempDir.resolve("storage"));
+    }
+
+    @Test
+    void storeMovesSourceAndOpenReadsIt() throws IOException {
+        Path source = source("hello");
+
+        backend.store(KEY, source);
+
+        assertFalse(Files.exists(source));
+        assertTrue(backend.exists(KEY));
+        assertEquals(5, backend.size(KEY));
+        assertArrayEquals("hello".getBytes(StandardCharsets.UTF_8), read(KEY));
+    }
+
+    @Test
+    void storeOverwritesExistingKey() throws IOException {
+        backend.store(KEY, source("old"));
+        backend.store(KEY, source("newer"));
+
+        assertArrayEquals("newer".getBytes(StandardCharsets.UTF_8), read(KEY));
+    }
+
+    @Test
+    void missingKeyDoesNotExistAndCannotBeRead() {
+        assertFalse(backend.exists(KEY));
+        assertThrows(IOException.class, () -> backend.open(KEY).close());
+        assertThrows(IOException.class, () -> backend.size(KEY));
+    }
+
+    @Test
+    void deleteRemovesKeyAndIgnoresMissingKey() throws IOException {
+        backend.store(KEY, source("hello"));
+
+        backend.delete(KEY);
+        backend.delete(KEY);
+
+        assertFalse(backend.exists(KEY));
+    }
+
+    @Test
+    void listKeysReturnsStoredKeys() throws IOException {
+        backend.store("aaaa01", source("a"));
+        backend.store("bbbb02", source("b"));
+
+        try (Stream<String> keys = backend.listKeys()) {
+            assertEquals(List.of("aaaa01", "bbbb02"), keys.sorted().toList());
+        }
+    }
+
+    private Path source(String content) throws IOException {
+        return Files.writeString(Files.createTempFile(tempDir, "upload", ".tmp"), content);
+    }
+
+    private byte[] read(String key) throws IOException {
+        try (InputStream inputStream = backend.open(key)) {
+            return inputStream.readAllBytes();
+        }
+    }
+}
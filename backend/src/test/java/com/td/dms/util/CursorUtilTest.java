@@ -0,0 +1,102 @@
+package com.td.dms.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import com.td.dms.dto.CursorPage;
+
+class CursorUtilTest {
+
+    @Test
+    void timeCursorRoundTrips() {
+        LocalDateTime createdAt = LocalDateTime.of(2024, 3, 1, 12, 30, 15, 123_456_000);
+
+        CursorUtil.Position position = CursorUtil.decode(CursorUtil.encode(createdAt, 42L), CursorUtil.NEWEST);
+
+        assertEquals(new CursorUtil.Position(createdAt, 42L), position);
+    }
+
+    @Test
+    void missingCursorReturnsFirstPosition() {
+        assertSame(CursorUtil.NEWEST, CursorUtil.decode(null, CursorUtil.NEWEST));
+        assertSame(CursorUtil.OLDEST, CursorUtil.decode(" ", CursorUtil.OLDEST));
+        assertNull(CursorUtil.decodeScore(null));
+        assertNull(CursorUtil.decodeScore(""));
+    }
+
+    @Test
+    void scoreCursorRoundTripsExactly() {
+        double score = 0.1 + 0.2;
+
+        CursorUtil.ScorePosition position = CursorUtil.decodeScore(CursorUtil.encodeScore(score, 7L));
+
+        assertEquals(Double.doubleToLongBits(score), Double.doubleToLongBits(position.score()));
+        assertEquals(7L, position.id());
+    }
+
+    @Test
+    void cursorKindsAreNotInterchangeable() {
+        String timeCursor = CursorUtil.encode(LocalDateTime.of(2024, 1, 1, 0, 0), 1L);
+        String scoreCursor = CursorUtil.encodeScore(1.5, 1L);
+
+        assertTrue(CursorUtil.isTimeCursor(timeCursor));
+        assertFalse(CursorUtil.isTimeCursor(scoreCursor));
+        assertFalse(CursorUtil.isTimeCursor(null));
+        assertThrows(RuntimeException.class, () -> CursorUtil.decodeScore(timeCursor));
+        assertThrows(RuntimeException.class, () -> CursorUtil.decode(scoreCursor, CursorUtil.NEWEST));
+    }
+
+    @Test
+    void malformedCursorIsRejected() {
+        String badDate = Base64.getUrlEncoder().withoutPadding()
+                .encodeToString("t|not-a-date|1".getBytes(StandardCharsets.UTF_8));
+        String missingPart = Base64.getUrlEncoder().withoutPadding()
+                .encodeToString("t|2024-01-01T00:00".getBytes(StandardCharsets.UTF_8));
+
+        assertThrows(RuntimeException.class, () -> CursorUtil.decode("%%%", CursorUtil.NEWEST));
+        assertThrows(RuntimeException.class, () -> CursorUtil.decode(badDate, CursorUtil.NEWEST));
+        assertThrows(RuntimeException.class, () -> CursorUtil.decode(missingPart, CursorUtil.NEWEST));
+        assertThrows(RuntimeException.class, () -> CursorUtil.isTimeCursor("%%%"));
+    }
+
+    @Test
+    void sizeIsClamped() {
+        assertEquals(1, CursorUtil.size(0));
+        assertEquals(1, CursorUtil.size(-5));
+        assertEquals(20, CursorUtil.size(20));
+        assertEquals(CursorUtil.MAX_SIZE, CursorUtil.size(CursorUtil.MAX_SIZE + 1));
+    }
+
+    @Test
+    void pageWithExtraRowHasNextCursorFromLastItem() {
+        CursorPage<String> page = CursorUtil.page(List.of(1, 2, 3, 4), 3, String::valueOf, this::labels, 10L);
+
+        assertEquals(List.of("#1", "#2", "#3"), page.items());
+        assertEquals("3", page.nextCursor());
+        assertEquals(Long.valueOf(10), page.total());
+    }
+
+    @Test
+    void lastPageHasNoNextCursor() {
+        CursorPage<String> page = CursorUtil.page(List.of(1, 2), 3, String::valueOf, this::labels, null);
+
+        assertEquals(List.of("#1", "#2"), page.items());
+        assertNull(page.nextCursor());
+        assertNull(page.total());
+    }
+
+    private List<String> labels(List<Integer> rows) {
+        return rows.stream().map(row -> "#" + row).toList();
+    }
+}
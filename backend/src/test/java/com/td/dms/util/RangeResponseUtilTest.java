@@ -0,0 +1,195 @@
+package com.td.dms.util;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import java.util.StringJoiner;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpRange;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import jakarta.servlet.http.HttpServletResponse;
+
+class RangeResponseUtilTest {
+    private static final String ETAG = "\"abc\"";
+
+    @TempDir
+    Path tempDir;
+
+    private Path file;
+    private byte[] content;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        content = new byte[100];
+        for (int i = 0; i < content.length; i++) {
+            content[i] = (byte) i;
+        }
+        file = Files.write(tempDir.resolve("data.bin"), content);
+    }
+
+    @Test
+    void mergeRangesSortsAndMergesOverlappingAndAdjacentRanges() {
+        List<RangeResponseUtil.ByteRange> merged = RangeResponseUtil.mergeRanges(
+                HttpRange.parseRanges("bytes=50-59,0-9,5-14,15-19,-10"), 100);
+
+        assertEquals(List.of(
+                new RangeResponseUtil.ByteRange(0, 19),
+                new RangeResponseUtil.ByteRange(50, 59),
+                new RangeResponseUtil.ByteRange(90, 99)), merged);
+    }
+
+    @Test
+    void mergeRangesRejectsRangeBeyondFile() {
+        assertThrows(IllegalArgumentException.class,
+                () -> RangeResponseUtil.mergeRanges(HttpRange.parseRanges("bytes=0-9,100-"), 100));
+    }
+
+    @Test
+    void writesWholeFileWithoutRange() throws IOException {
+        MockHttpServletResponse response = write(get());
+
+        assertEquals(HttpServletResponse.SC_OK, response.getStatus());
+        assertEquals("bytes", response.getHeader(HttpHeaders.ACCEPT_RANGES));
+        assertArrayEquals(content, response.getContentAsByteArray());
+    }
+
+    @Test
+    void writesSingleRange() throws IOException {
+        MockHttpServletRequest request = get();
+        request.addHeader(HttpHeaders.RANGE, "bytes=10-19");
+
+        MockHttpServletResponse response = write(request);
+
+        assertEquals(HttpServletResponse.SC_PARTIAL_CONTENT, response.getStatus());
+        assertEquals("bytes 10-19/100", response.getHeader(HttpHeaders.CONTENT_RANGE));
+        assertArrayEquals(Arrays.copyOfRange(content, 10, 20), response.getContentAsByteArray());
+    }
+
+    @Test
+    void overlappingRangesAreSentOnce() throws IOException {
+        MockHttpServletRequest request = get();
+        request.addHeader(HttpHeaders.RANGE, "bytes=0-49,10-59,0-99");
+
+        MockHttpServletResponse response = write(request);
+
+        assertEquals(HttpServletResponse.SC_PARTIAL_CONTENT, response.getStatus());
+        assertEquals("bytes 0-99/100", response.getHeader(HttpHeaders.CONTENT_RANGE));
+        assertArrayEquals(content, response.getContentAsByteArray());
+    }
+
+    @Test
+    void disjointRangesAreSentAsMultipart() throws IOException {
+        MockHttpServletRequest request = get();
+        request.addHeader(HttpHeaders.RANGE, "bytes=0-1,90-91");
+
+        MockHttpServletResponse response = write(request);
+
+        assertEquals(HttpServletResponse.SC_PARTIAL_CONTENT, response.getStatus());
+        assertTrue(response.getContentType().startsWith("multipart/byteranges"));
+        String body = response.getContentAsString();
+        assertTrue(body.contains("Content-Range: bytes 0-1/100"));
+        assertTrue(body.contains("Content-Range: bytes 90-91/100"));
+    }
+
+    @Test
+    void tooManyRangesFallBackToWholeFile() throws IOException {
+        StringJoiner ranges = new StringJoiner(",", "bytes=", "");
+        for (int i = 0; i <= RangeResponseUtil.MAX_RANGES; i++) {
+            ranges.add((i * 2) + "-" + (i * 2));
+        }
+        MockHttpServletRequest request = get();
+        request.addHeader(HttpHeaders.RANGE, ranges.toString());
+
+        MockHttpServletResponse response = write(request);
+
+        assertEquals(HttpServletResponse.SC_OK, response.getStatus());
+        assertArrayEquals(content, response.getContentAsByteArray());
+    }
+
+    @Test
+    void unsatisfiableRangeReturns416() throws IOException {
+        MockHttpServletRequest request = get();
+        request.addHeader(HttpHeaders.RANGE, "bytes=200-300");
+
+        MockHttpServletResponse response = write(request);
+
+        assertEquals(HttpServletResponse.SC_REQUESTED_RANGE_NOT_SATISFIABLE, response.getStatus());
+        assertEquals("bytes */100", response.getHeader(HttpHeaders.CONTENT_RANGE));
+    }
+
+    @Test
+    void malformedRangeIsIgnored() throws IOException {
+        MockHttpServletRequest request = get();
+        request.addHeader(HttpHeaders.RANGE, "bytes=abc");
+
+        MockHttpServletResponse response = write(request);
+
+        assertEquals(HttpServletResponse.SC_OK, response.getStatus());
+        assertNull(response.getHeader(HttpHeaders.CONTENT_RANGE));
+        assertArrayEquals(content, response.getContentAsByteArray());
+    }
+
+    @Test
+    void staleIfRangeSendsWholeFile() throws IOException {
+        MockHttpServletRequest request = get();
+        request.addHeader(HttpHeaders.RANGE, "bytes=10-19");
+        request.addHeader(HttpHeaders.IF_RANGE, "\"old\"");
+
+        MockHttpServletResponse response = write(request);
+
+        assertEquals(HttpServletResponse.SC_OK, response.getStatus());
+        assertNull(response.getHeader(HttpHeaders.CONTENT_RANGE));
+        assertArrayEquals(content, response.getContentAsByteArray());
+    }
+
+    @Test
+    void headRequestHasNoBody() throws IOException {
+        MockHttpServletRequest request = new MockHttpServletRequest("HEAD", "/files/1");
+
+        MockHttpServletResponse response = write(request);
+
+        assertEquals(HttpServletResponse.SC_OK, response.getStatus());
+        assertEquals(100, response.getContentLengthLong());
+        assertEquals(0, response.getContentAsByteArray().length);
+    }
+
+    @Test
+    void acceptsEncodingHonoursQualityAndWildcard() {
+        assertTrue(RangeResponseUtil.acceptsEncoding(acceptEncoding("gzip, deflate"), "gzip"));
+        assertTrue(RangeResponseUtil.acceptsEncoding(acceptEncoding("br;q=1.0, *;q=0.5"), "gzip"));
+        assertFalse(RangeResponseUtil.acceptsEncoding(acceptEncoding("gzip;q=0, deflate"), "gzip"));
+        assertFalse(RangeResponseUtil.acceptsEncoding(acceptEncoding("gzip;q=abc"), "gzip"));
+        assertFalse(RangeResponseUtil.acceptsEncoding(new MockHttpServletRequest(), "gzip"));
+    }
+
+    private MockHttpServletRequest get() {
+        return new MockHttpServletRequest("GET", "/files/1");
+    }
+
+    private MockHttpServletRequest acceptEncoding(String value) {
+        MockHttpServletRequest request = get();
+        request.addHeader(HttpHeaders.ACCEPT_ENCODING, value);
+        return request;
+    }
+
+    private MockHttpServletResponse write(MockHttpServletRequest request) throws IOException {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        RangeResponseUtil.writeFile(request, response, file, "application/octet-stream", "data.bin", ETAG);
+        return response;
+    }
+}
@@ -1,12 +1,12 @@
 import { Grid, Card, CardContent, Box, Typography, Chip } from "@mui/material";
-import { Document } from "../types";
+import { DocumentSummary } from "../types";
 import DescriptionIcon from "@mui/icons-material/Description";
 import StarIcon from "@mui/icons-material/Star";
 import FolderIcon from "@mui/icons-material/Folder";
 
 interface DocumentListProps {
-  documents: Document[];
-  onDocumentClick: (doc: Document) => void;
+  documents: DocumentSummary[];
+  onDocumentClick: (doc: DocumentSummary) => void;
 }
 
 const DocumentList = ({ documents, onDocumentClick }: DocumentListProps) => {
@@ -90,7 +90,7 @@ const DocumentList = ({ documents, onDocumentClick }: DocumentListProps) => {
                   Height: "1.5em",
                 }}
               >
-                {doc.content}
+                {doc.preview}
               </Typography>
 
               <Box
@@ -102,10 +102,10 @@ const DocumentList = ({ documents, onDocumentClick }: DocumentListProps) => {
                   flexWrap: "wrap",
                 }}
               >
-                <Chip label={doc.createdBy.role} size="small" color="primary" />
-                {doc.files && doc.files.length > 0 && (
+                <Chip label={doc.authorRole} size="small" color="primary" />
+                {doc.fileCount > 0 && (
                   <Chip
-                    label={`첨부파일 ${doc.files.length}개`}
+                    label={`첨부파일 ${doc.fileCount}개`}
                     size="small"
                     color="info"
                     variant="outlined"
@@ -4,13 +4,13 @@ import PageContainer from "../components/PageContainer";
 import PageTitle from "../components/PageTitle";
 import DocumentList from "../components/DocumentList";
 import DocumentForm from "../components/DocumentForm";
-import { Document } from "../types";
+import { Document, DocumentSummary } from "../types";
 import { documentApi } from "../api/api";
 import AddIcon from "@mui/icons-material/Add";
 import DeleteConfirmDialog from "../components/DeleteConfirmDialog";
 
 const AllDocuments = () => {
-  const [documents, setDocuments] = useState<Document[]>([]);
+  const [documents, setDocuments] = useState<DocumentSummary[]>([]);
   const [selectedDocument, setSelectedDocument] = useState<Document | null>(
     null
   );
@@ -35,16 +35,22 @@ const AllDocuments = () => {
   const fetchDocuments = async () => {
     try {
       const response = await documentApi.getAllDocuments();
-      setDocuments(response.data as Document[]);
+      setDocuments(response.data as DocumentSummary[]);
     } catch (error) {
       console.error("문서 목록 조회 실패:", error);
     }
   };
 
-  const handleRowClick = (doc: Document) => {
-    setSelectedDocument(doc);
-    setIsEditing(false);
-    setIsFormOpen(true);
+  // 목록에는 요약만 있으므로 전체 내용과 첨부파일은 상세 조회로 읽음
+  const handleRowClick = async (doc: DocumentSummary) => {
+    try {
+      const response = await documentApi.getDocumentById(doc.id);
+      setSelectedDocument(response.data as Document);
+      setIsEditing(false);
+      setIsFormOpen(true);
+    } catch (error) {
+      console.error("문서 조회 실패:", error);
+    }
   };
 
   const handleUpdateDocument = async (formData: FormData) => {
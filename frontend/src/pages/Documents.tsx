@@ -23,12 +23,12 @@ import DeleteConfirmDialog from "../components/DeleteConfirmDialog";
 import DescriptionIcon from "@mui/icons-material/Description";
 import AlertSnackbar from "../components/AlertSnackbar";
 import api, { documentApi, folderApi } from "../api/api";
-import { Document, FileInfo, Folder } from "../types";
+import { Document, DocumentSummary, FileInfo, Folder } from "../types";
 import FolderFormDialog from "../components/FolderFormDialog";
 
 const Documents = () => {
   const location = useLocation();
-  const [documents, setDocuments] = useState<Document[]>([]);
+  const [documents, setDocuments] = useState<DocumentSummary[]>([]);
   const [folders, setFolders] = useState<Folder[]>([]);
   const [selectedFolder, setSelectedFolder] = useState<Folder | null>(null);
   const [selectedDocument, setSelectedDocument] = useState<Document | null>(
@@ -102,7 +102,7 @@ const Documents = () => {
           response = await documentApi.getAllDocuments();
       }
 
-      setDocuments(response.data as Document[]);
+      setDocuments(response.data as DocumentSummary[]);
     } catch (error) {
       console.error("문서 목록 조회 실패:", error);
     }
@@ -199,10 +199,16 @@ const Documents = () => {
     }
   };
 
-  const handleRowClick = (doc: Document) => {
-    setSelectedDocument(doc);
-    setIsReadMode(true);
-    setIsFormOpen(true);
+  // 목록에는 요약만 있으므로 전체 내용과 첨부파일은 상세 조회로 읽음
+  const handleRowClick = async (doc: DocumentSummary) => {
+    try {
+      const response = await documentApi.getDocumentById(doc.id);
+      setSelectedDocument(response.data as Document);
+      setIsReadMode(true);
+      setIsFormOpen(true);
+    } catch (error) {
+      showAlert("문서를 불러오지 못했습니다.", "error");
+    }
   };
 
   const handleCancelEdit = () => {
@@ -410,7 +416,7 @@ const Documents = () => {
                       whiteSpace: "nowrap",
                     }}
                   >
-                    {doc.content}
+                    {doc.preview}
                   </Typography>
 
                   {/* 태그 영역 */}
@@ -423,20 +429,11 @@ const Documents = () => {
                       flexWrap: "wrap",
                     }}
                   >
-                    <Chip
-                      label={
-                        typeof doc.createdBy === "object" &&
-                        doc.createdBy !== null
-                          ? doc.createdBy.role
-                          : doc.createdBy
-                      }
-                      size="small"
-                      color="primary"
-                    />
+                    <Chip label={doc.authorRole} size="small" color="primary" />
 
-                    {doc.files && doc.files.length > 0 && (
+                    {doc.fileCount > 0 && (
                       <Chip
-                        label={`첨부파일 ${doc.files.length}개`}
+                        label={`첨부파일 ${doc.fileCount}개`}
                         size="small"
                         color="info"
                         variant="outlined"
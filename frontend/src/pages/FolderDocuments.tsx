@@ -13,7 +13,7 @@ import PageTitle from "../components/PageTitle";
 import DocumentList from "../components/DocumentList";
 import DocumentForm from "../components/DocumentForm";
 import FolderFormDialog from "../components/FolderFormDialog";
-import { Document, Folder } from "../types";
+import { Document, DocumentSummary, Folder } from "../types";
 import { documentApi, folderApi } from "../api/api";
 import AddIcon from "@mui/icons-material/Add";
 import FolderIcon from "@mui/icons-material/Folder";
@@ -21,7 +21,7 @@ import EditIcon from "@mui/icons-material/Edit";
 import DeleteIcon from "@mui/icons-material/Delete";
 
 const FolderDocuments = () => {
-  const [documents, setDocuments] = useState<Document[]>([]);
+  const [documents, setDocuments] = useState<DocumentSummary[]>([]);
   const [folders, setFolders] = useState<Folder[]>([]);
   const [selectedFolder, setSelectedFolder] = useState<Folder | null>(null);
   const [isFormOpen, setIsFormOpen] = useState(false);
@@ -58,12 +58,23 @@ const FolderDocuments = () => {
   const fetchDocumentsByFolder = async (folderId: number) => {
     try {
       const response = await documentApi.getDocumentsByFolder(folderId);
-      setDocuments(response.data as Document[]);
+      setDocuments(response.data as DocumentSummary[]);
     } catch (error) {
       console.error("문서 목록 조회 실패:", error);
     }
   };
 
+  // 목록에는 요약만 있으므로 전체 내용과 첨부파일은 상세 조회로 읽음
+  const handleDocumentClick = async (doc: DocumentSummary) => {
+    try {
+      const response = await documentApi.getDocumentById(doc.id);
+      setSelectedDocument(response.data as Document);
+      setIsFormOpen(true);
+    } catch (error) {
+      console.error("문서 조회 실패:", error);
+    }
+  };
+
   const handleCreateFolder = async (name: string) => {
     try {
       await folderApi.createFolder(name);
@@ -207,10 +218,7 @@ const FolderDocuments = () => {
           </Typography>
           <DocumentList
             documents={documents}
-            onDocumentClick={(doc) => {
-              setSelectedDocument(doc);
-              setIsFormOpen(true);
-            }}
+            onDocumentClick={handleDocumentClick}
           />
         </Box>
       )}
@@ -3,13 +3,13 @@ import PageContainer from "../components/PageContainer";
 import PageTitle from "../components/PageTitle";
 import DocumentList from "../components/DocumentList";
 import DocumentForm from "../components/DocumentForm";
-import { Document } from "../types";
+import { Document, DocumentSummary } from "../types";
 import { documentApi } from "../api/api";
 import AddIcon from "@mui/icons-material/Add";
 import Button from "@mui/material/Button";
 
 const RecentDocuments = () => {
-  const [documents, setDocuments] = useState<Document[]>([]);
+  const [documents, setDocuments] = useState<DocumentSummary[]>([]);
   const [isFormOpen, setIsFormOpen] = useState(false);
   const [selectedDocument, setSelectedDocument] = useState<Document | null>(
     null
@@ -22,12 +22,23 @@ const RecentDocuments = () => {
   const fetchDocuments = async () => {
     try {
       const response = await documentApi.getRecentDocuments();
-      setDocuments(response.data as Document[]);
+      setDocuments(response.data as DocumentSummary[]);
     } catch (error) {
       console.error("최근 문서 목록 조회 실패:", error);
     }
   };
 
+  // 목록에는 요약만 있으므로 전체 내용과 첨부파일은 상세 조회로 읽음
+  const handleDocumentClick = async (doc: DocumentSummary) => {
+    try {
+      const response = await documentApi.getDocumentById(doc.id);
+      setSelectedDocument(response.data as Document);
+      setIsFormOpen(true);
+    } catch (error) {
+      console.error("문서 조회 실패:", error);
+    }
+  };
+
   return (
     <PageContainer>
       <PageTitle
@@ -49,10 +60,7 @@ const RecentDocuments = () => {
 
       <DocumentList
         documents={documents}
-        onDocumentClick={(doc) => {
-          setSelectedDocument(doc);
-          setIsFormOpen(true);
-        }}
+        onDocumentClick={handleDocumentClick}
       />
 
       <DocumentForm
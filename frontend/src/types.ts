@@ -26,10 +26,25 @@ export interface Document {
   folder?: Folder; // 속한 폴더 (선택적)
 }
 
+// 문서 목록 항목 타입 (전체 내용과 첨부파일은 상세 조회에서 읽음)
+export interface DocumentSummary {
+  id: number;
+  title: string;
+  preview: string; // 내용 앞부분
+  isStarred: boolean;
+  createdAt: string;
+  updatedAt: string;
+  folderId: number | null;
+  authorName: string;
+  authorRole: string;
+  fileCount: number;
+}
+
 // 폴더 타입
 export interface Folder {
   id: number;
   name: string;
+  parentId: number | null; // 상위 폴더 (최상위면 null)
   documentCount: number; // 폴더 내 문서 수
   createdAt: string;
   updatedAt: string;